@@ -0,0 +1,54 @@
+package br.com.juliocesarcoutinho.emailservice.configs;
+
+import br.com.juliocesarcoutinho.emailservice.mail.PooledJavaMailSender;
+import br.com.juliocesarcoutinho.emailservice.mail.SmtpPoolSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.Properties;
+
+/**
+ * Substitui o JavaMailSender do Spring Boot por um que reaproveita conexões SMTP.
+ * Com {@code app.email.smtp-pool.enabled=false} volta a valer a autoconfiguração padrão.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+@ConditionalOnProperty(prefix = "app.email.smtp-pool", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MailConfig {
+
+    @Bean
+    public JavaMailSender javaMailSender(
+            MailProperties mailProperties,
+            @Value("${app.email.smtp-pool.max-total:8}") int maxTotal,
+            @Value("${app.email.smtp-pool.max-wait-ms:5000}") long maxWaitMs,
+            @Value("${app.email.smtp-pool.idle-timeout-ms:60000}") long idleTimeoutMs,
+            @Value("${app.email.smtp-pool.validate-after-idle-ms:10000}") long validateAfterIdleMs,
+            @Value("${app.email.smtp-pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${app.email.smtp-pool.eviction-interval-ms:15000}") long evictionIntervalMs) {
+
+        PooledJavaMailSender sender = new PooledJavaMailSender(new SmtpPoolSettings(
+                maxTotal, maxWaitMs, idleTimeoutMs, validateAfterIdleMs, maxMessagesPerConnection, evictionIntervalMs));
+
+        sender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            sender.setPort(mailProperties.getPort());
+        }
+        sender.setUsername(mailProperties.getUsername());
+        sender.setPassword(mailProperties.getPassword());
+        sender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(mailProperties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+
+        return sender;
+    }
+}
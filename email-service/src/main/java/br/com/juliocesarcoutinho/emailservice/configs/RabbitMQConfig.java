@@ -0,0 +1,93 @@
+package br.com.juliocesarcoutinho.emailservice.configs;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.DelegatingDecompressingPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.juliocesarcoutinho.emailservice.messaging.CborMessageConverter;
+
+/**
+ * Declarações compartilhadas com o user-service (mesma exchange, fila e routing key).
+ * Prefetch, concorrência e tamanho do lote do consumidor ficam em {@code spring.rabbitmq.listener.simple}.
+ */
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String EXCHANGE_NAME = "manga-system-exchange";
+    public static final String WELCOME_EMAIL_QUEUE = "welcome-email-queue";
+    public static final String WELCOME_EMAIL_ROUTING_KEY = "welcome-email";
+    public static final String WELCOME_EMAIL_DLQ = WELCOME_EMAIL_QUEUE + ".dlq";
+
+    /**
+     * Lotes recusados pelo consumidor (sem reentrega, ver {@code default-requeue-rejected}) vão para a DLQ
+     * pela exchange padrão. Os argumentos precisam ser os mesmos declarados pelo user-service.
+     */
+    @Bean
+    public Queue welcomeEmailQueue() {
+        return QueueBuilder.durable(WELCOME_EMAIL_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(WELCOME_EMAIL_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue welcomeEmailDeadLetterQueue() {
+        return QueueBuilder.durable(WELCOME_EMAIL_DLQ).build();
+    }
+
+    @Bean
+    public DirectExchange exchange() {
+        return new DirectExchange(EXCHANGE_NAME);
+    }
+
+    @Bean
+    public Binding welcomeEmailBinding(Queue welcomeEmailQueue, DirectExchange exchange) {
+        return BindingBuilder.bind(welcomeEmailQueue)
+                .to(exchange)
+                .with(WELCOME_EMAIL_ROUTING_KEY);
+    }
+
+    /**
+     * Lê CBOR e JSON pelo content-type de cada mensagem, para aceitar tanto o formato binário
+     * quanto mensagens antigas em JSON. Envios usam o formato de {@code app.messaging.format}.
+     */
+    @Bean
+    public MessageConverter messageConverter(@Value("${app.messaging.format:cbor}") String messageFormat) {
+        // O header __TypeId__ do JSON aponta para a classe do user-service; usa o tipo do parâmetro do listener
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+        typeMapper.setTrustedPackages("br.com.juliocesarcoutinho.emailservice.dtos");
+
+        Jackson2JsonMessageConverter jsonConverter = new Jackson2JsonMessageConverter();
+        jsonConverter.setJavaTypeMapper(typeMapper);
+        CborMessageConverter cborConverter = new CborMessageConverter();
+
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(
+                "json".equalsIgnoreCase(messageFormat) ? jsonConverter : cborConverter);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, jsonConverter);
+        converter.addDelegate(CborMessageConverter.CONTENT_TYPE, cborConverter);
+        return converter;
+    }
+
+    /**
+     * Descomprime mensagens com content-encoding gzip/deflate antes da conversão
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> decompressingContainerCustomizer() {
+        return container -> container.setAfterReceivePostProcessors(new DelegatingDecompressingPostProcessor());
+    }
+}
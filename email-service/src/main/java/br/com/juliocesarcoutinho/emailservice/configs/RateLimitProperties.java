@@ -0,0 +1,34 @@
+package br.com.juliocesarcoutinho.emailservice.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Limites de envio por servidor SMTP (relay) e por domínio do destinatário.
+ * Domínios sem entrada em {@code domains} usam {@code domain-default}.
+ */
+@ConfigurationProperties(prefix = "app.email.rate-limit")
+public record RateLimitProperties(
+    boolean enabled,
+    Limit relay,
+    Limit domainDefault,
+    Map<String, Limit> domains,
+    int maxDomains,
+    long maxWaitMs,
+    Feedback feedback
+) {
+
+    public RateLimitProperties {
+        domains = domains != null ? domains : Map.of();
+    }
+
+    public record Limit(double ratePerSecond, int burst) {}
+
+    /**
+     * Ajuste do consumidor da fila quando os envios começam a esperar pelo limite
+     *
+     * @param pressureThreshold fração das reservas com espera a partir da qual o consumo é reduzido
+     */
+    public record Feedback(long intervalMs, double pressureThreshold, int minPrefetch, int minConsumers) {}
+}
@@ -0,0 +1,14 @@
+package br.com.juliocesarcoutinho.emailservice.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "Cursor Page DTO", description = "Página navegada por cursor, sem contagem total de registros")
+public record CursorPageDTO<T>(
+    List<T> content,
+    int size,
+    boolean hasNext,
+    @Schema(description = "Token opaco para buscar a próxima página; nulo na última página")
+    String nextCursor
+) {}
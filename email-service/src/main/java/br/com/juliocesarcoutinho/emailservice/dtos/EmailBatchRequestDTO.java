@@ -0,0 +1,13 @@
+package br.com.juliocesarcoutinho.emailservice.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "Email Batch Request DTO", description = "Data Transfer Object for Batch Email Request")
+public record EmailBatchRequestDTO(
+    @NotEmpty @Size(max = 1000) List<@Valid EmailRequestDTO> emails
+) {}
@@ -0,0 +1,13 @@
+package br.com.juliocesarcoutinho.emailservice.dtos;
+
+import java.util.Map;
+
+/**
+ * Mensagem publicada pelo user-service na welcome-email-queue
+ */
+public record EmailMessageDTO(
+    String to,
+    String subject,
+    String template,
+    Map<String, Object> variables
+) {}
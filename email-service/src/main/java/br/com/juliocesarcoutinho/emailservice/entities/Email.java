@@ -11,6 +11,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,13 +21,14 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "tb_emails")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Email {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_seq")
+    @SequenceGenerator(name = "email_seq", sequenceName = "tb_emails_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -55,6 +57,11 @@ public class Email {
     @Column(nullable = false)
     private LocalDateTime sendDate;
 
+    @Column(nullable = false)
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
     @PrePersist
     public void prePersist() {
         sendDate = LocalDateTime.now();
@@ -1,5 +1,5 @@
 package br.com.juliocesarcoutinho.emailservice.enums;
 
 public enum StatusEmail {
-    SENT, ERROR
+    PENDING, SENT, ERROR, DEAD
 }
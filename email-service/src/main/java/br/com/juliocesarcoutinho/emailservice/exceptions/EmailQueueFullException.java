@@ -0,0 +1,7 @@
+package br.com.juliocesarcoutinho.emailservice.exceptions;
+
+public class EmailQueueFullException extends RuntimeException {
+    public EmailQueueFullException(String message) {
+        super(message);
+    }
+}
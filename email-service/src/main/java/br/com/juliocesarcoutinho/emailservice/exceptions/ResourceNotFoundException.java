@@ -0,0 +1,7 @@
+package br.com.juliocesarcoutinho.emailservice.exceptions;
+
+public class ResourceNotFoundException extends RuntimeException {
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
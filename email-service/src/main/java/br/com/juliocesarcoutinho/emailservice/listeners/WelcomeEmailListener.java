@@ -0,0 +1,36 @@
+package br.com.juliocesarcoutinho.emailservice.listeners;
+
+import br.com.juliocesarcoutinho.emailservice.configs.RabbitMQConfig;
+import br.com.juliocesarcoutinho.emailservice.dtos.EmailMessageDTO;
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.services.EmailDispatcher;
+import br.com.juliocesarcoutinho.emailservice.services.EmailQueueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consome a welcome-email-queue em lotes. O ack (modo AUTO) só acontece quando o método
+ * retorna, ou seja, depois que o lote foi gravado e entregue ao pool de envio.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WelcomeEmailListener {
+
+    public static final String LISTENER_ID = "welcomeEmailListener";
+
+    private final EmailQueueService emailQueueService;
+    private final EmailDispatcher emailDispatcher;
+
+    @RabbitListener(id = LISTENER_ID, queues = RabbitMQConfig.WELCOME_EMAIL_QUEUE, batch = "true")
+    public void onMessages(List<EmailMessageDTO> messages) {
+        log.info("Recebido lote de {} emails da fila", messages.size());
+
+        List<Email> emails = emailQueueService.persistBatch(messages);
+        emailDispatcher.dispatchAll(emails);
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.juliocesarcoutinho.emailservice.mail;
+
+import br.com.juliocesarcoutinho.emailservice.mail.SmtpTransportPool.PooledTransport;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link JavaMailSenderImpl} que envia pelo {@link SmtpTransportPool} em vez de abrir
+ * e fechar uma conexão SMTP a cada chamada de {@code send}.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private final SmtpTransportPool pool;
+
+    public PooledJavaMailSender(SmtpPoolSettings settings) {
+        this.pool = new SmtpTransportPool(this::connectTransport, settings);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport transport = null;
+
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                // Recicla a conexão no meio do lote em vez de só quando ela volta ao pool
+                if (transport != null && pool.isExhausted(transport)) {
+                    pool.release(transport, false);
+                    transport = null;
+                }
+                if (transport == null) {
+                    try {
+                        transport = pool.borrow();
+                    } catch (MessagingException ex) {
+                        if (i == 0) {
+                            throw ex;
+                        }
+                        // Parte do lote já foi entregue: só as mensagens ainda não tentadas falham
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(original(mimeMessages, originalMessages, j), ex);
+                        }
+                        break;
+                    }
+                }
+
+                MimeMessage mimeMessage = mimeMessages[i];
+                try {
+                    send(transport, mimeMessage);
+                } catch (MessagingException ex) {
+                    failedMessages.put(original(mimeMessages, originalMessages, i), ex);
+                    // Destinatário recusado não invalida a conexão; qualquer outra falha sim
+                    if (!(ex instanceof SendFailedException)) {
+                        pool.release(transport, true);
+                        transport = null;
+                    }
+                }
+            }
+        } catch (AuthenticationFailedException ex) {
+            throw new MailAuthenticationException(ex);
+        } catch (MessagingException ex) {
+            throw new MailSendException("Falha ao conectar no servidor de email", ex);
+        } finally {
+            if (transport != null) {
+                pool.release(transport, false);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private Object original(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages, int index) {
+        return originalMessages != null ? originalMessages[index] : mimeMessages[index];
+    }
+
+    private void send(PooledTransport transport, MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserva o Message-ID explícito, que o saveChanges() sobrescreveria
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+
+        Address[] addresses = mimeMessage.getAllRecipients();
+        transport.send(mimeMessage, addresses != null ? addresses : new Address[0]);
+    }
+
+    @Override
+    public void destroy() {
+        pool.close();
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.juliocesarcoutinho.emailservice.mail;
+
+/**
+ * Limites do pool de conexões SMTP
+ *
+ * @param maxTotal                  conexões abertas ao mesmo tempo
+ * @param maxWaitMs                 espera máxima por uma conexão livre
+ * @param idleTimeoutMs             tempo ocioso após o qual a conexão é fechada
+ * @param validateAfterIdleMs       tempo ocioso a partir do qual a conexão é testada (NOOP) antes de reutilizar
+ * @param maxMessagesPerConnection  mensagens enviadas antes de reciclar a conexão
+ * @param evictionIntervalMs        intervalo da rotina que fecha conexões ociosas
+ */
+public record SmtpPoolSettings(
+    int maxTotal,
+    long maxWaitMs,
+    long idleTimeoutMs,
+    long validateAfterIdleMs,
+    int maxMessagesPerConnection,
+    long evictionIntervalMs
+) {}
@@ -0,0 +1,157 @@
+package br.com.juliocesarcoutinho.emailservice.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém conexões SMTP autenticadas abertas para que várias mensagens compartilhem
+ * o mesmo handshake TLS e AUTH. As conexões ociosas são reutilizadas em ordem LIFO,
+ * o que deixa as mais antigas envelhecerem até serem removidas pelo evictor.
+ */
+@Slf4j
+public class SmtpTransportPool implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface TransportFactory {
+        Transport connect() throws MessagingException;
+    }
+
+    private final TransportFactory factory;
+    private final SmtpPoolSettings settings;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final ScheduledExecutorService evictor;
+
+    public SmtpTransportPool(TransportFactory factory, SmtpPoolSettings settings) {
+        this.factory = factory;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxTotal());
+        this.evictor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("smtp-pool-evictor").factory());
+        this.evictor.scheduleWithFixedDelay(this::evictIdle,
+                settings.evictionIntervalMs(), settings.evictionIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtém uma conexão ociosa válida ou abre uma nova, respeitando o limite do pool
+     */
+    public PooledTransport borrow() throws MessagingException {
+        if (!acquirePermit()) {
+            throw new MessagingException("Nenhuma conexão SMTP disponível após " + settings.maxWaitMs() + " ms");
+        }
+
+        try {
+            PooledTransport transport;
+            while ((transport = idle.pollFirst()) != null) {
+                if (isHealthy(transport)) {
+                    return transport;
+                }
+                transport.close();
+            }
+            return new PooledTransport(factory.connect());
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Indica se a conexão já enviou o máximo de mensagens e deve ser trocada por outra
+     */
+    public boolean isExhausted(PooledTransport transport) {
+        return transport.messagesSent >= settings.maxMessagesPerConnection();
+    }
+
+    /**
+     * Devolve a conexão ao pool, fechando-a se estiver quebrada ou tiver atingido o limite de mensagens
+     */
+    public void release(PooledTransport transport, boolean broken) {
+        try {
+            if (broken || isExhausted(transport)) {
+                transport.close();
+            } else {
+                transport.lastUsedAt = System.currentTimeMillis();
+                idle.offerFirst(transport);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Fecha conexões ociosas há mais tempo que o configurado
+     */
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        idle.removeIf(transport -> {
+            if (now - transport.lastUsedAt < settings.idleTimeoutMs()) {
+                return false;
+            }
+            transport.close();
+            return true;
+        });
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            transport.close();
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(settings.maxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean isHealthy(PooledTransport transport) {
+        if (System.currentTimeMillis() - transport.lastUsedAt < settings.validateAfterIdleMs()) {
+            return true;
+        }
+        // No SMTPTransport, isConnected() envia um NOOP ao servidor
+        return transport.transport.isConnected();
+    }
+
+    public static final class PooledTransport {
+
+        private final Transport transport;
+        private int messagesSent;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public void send(Message message, Address[] addresses) throws MessagingException {
+            messagesSent++;
+            transport.sendMessage(message, addresses);
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Erro ao fechar conexão SMTP: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.juliocesarcoutinho.emailservice.ratelimit;
+
+import br.com.juliocesarcoutinho.emailservice.configs.RateLimitProperties;
+import br.com.juliocesarcoutinho.emailservice.listeners.WelcomeEmailListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reduz o consumo da welcome-email-queue enquanto os envios estão esperando pelo rate limit
+ * e restaura a configuração original quando a pressão passa.
+ * <p>
+ * Com menos consumidores as mensagens pré-buscadas dos que param voltam ao broker;
+ * o novo prefetch vale para os consumidores iniciados a partir da mudança.
+ */
+@Component
+@Slf4j
+public class ConsumerFeedbackController {
+
+    private final OutboundRateLimiter rateLimiter;
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final RateLimitProperties.Feedback feedback;
+    private final int prefetch;
+    private final int consumers;
+    private volatile boolean throttling;
+
+    public ConsumerFeedbackController(OutboundRateLimiter rateLimiter,
+                                      RabbitListenerEndpointRegistry listenerRegistry,
+                                      RateLimitProperties properties,
+                                      @Value("${spring.rabbitmq.listener.simple.prefetch:250}") int prefetch,
+                                      @Value("${spring.rabbitmq.listener.simple.concurrency:1}") int consumers) {
+        this.rateLimiter = rateLimiter;
+        this.listenerRegistry = listenerRegistry;
+        this.feedback = properties.feedback();
+        this.prefetch = prefetch;
+        this.consumers = consumers;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.rate-limit.feedback.interval-ms:5000}")
+    public void adjust() {
+        double pressure = rateLimiter.drainPressure();
+        boolean shouldThrottle = pressure >= feedback.pressureThreshold();
+        if (shouldThrottle == throttling) {
+            return;
+        }
+
+        if (!(listenerRegistry.getListenerContainer(WelcomeEmailListener.LISTENER_ID)
+                instanceof SimpleMessageListenerContainer container)) {
+            return;
+        }
+
+        throttling = shouldThrottle;
+        container.setPrefetchCount(shouldThrottle ? feedback.minPrefetch() : prefetch);
+        container.setConcurrentConsumers(shouldThrottle ? feedback.minConsumers() : consumers);
+        log.info("Consumo da fila {}: pressão do rate limit em {}%",
+                shouldThrottle ? "reduzido" : "restaurado", Math.round(pressure * 100));
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.juliocesarcoutinho.emailservice.ratelimit;
+
+import br.com.juliocesarcoutinho.emailservice.configs.RateLimitProperties;
+import br.com.juliocesarcoutinho.emailservice.configs.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Aplica os token buckets do relay SMTP e do domínio do destinatário antes de cada envio.
+ * Em vez de falhar, a thread de envio espera pelo token (até {@code max-wait-ms}),
+ * o que reduz o ritmo de consumo da fila em vez de gerar emails com ERROR.
+ */
+@Component
+@Slf4j
+public class OutboundRateLimiter {
+
+    private static final String OTHER_DOMAINS = "*";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Bucket relayBucket;
+    private final Map<String, Bucket> domainBuckets = new ConcurrentHashMap<>();
+    private final LongAdder reservations = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    public OutboundRateLimiter(RateLimitProperties properties,
+                               MeterRegistry meterRegistry,
+                               @Value("${spring.mail.host:relay}") String relayHost) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.relayBucket = new Bucket("relay:" + relayHost, properties.relay());
+    }
+
+    /**
+     * Aguarda as permissões do relay e do domínio. Retorna false se a espera passaria do limite configurado.
+     */
+    public boolean acquire(String domain, int permits) {
+        if (!properties.enabled()) {
+            return true;
+        }
+
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.maxWaitMs());
+        Bucket domainBucket = domainBucket(domain);
+
+        long domainWait = domainBucket.reserve(permits, maxWaitNanos);
+        if (domainWait < 0) {
+            return false;
+        }
+        long relayWait = relayBucket.reserve(permits, maxWaitNanos);
+        if (relayWait < 0) {
+            domainBucket.bucket.refund(permits);
+            return false;
+        }
+
+        reservations.increment();
+        long wait = Math.max(domainWait, relayWait);
+        if (wait > 0) {
+            throttled.increment();
+            LockSupport.parkNanos(wait);
+        }
+        return true;
+    }
+
+    /**
+     * Maior quantidade de permissões que uma única chamada de {@link #acquire} pode obter para o domínio:
+     * o menor burst entre o bucket do domínio e o do relay. Pedidos maiores nunca cabem no bucket.
+     */
+    public int maxPermits(String domain) {
+        if (!properties.enabled()) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.min(domainBucket(domain).burst, relayBucket.burst);
+    }
+
+    /**
+     * Fração das reservas desde a última chamada que precisaram esperar por token
+     */
+    public double drainPressure() {
+        long total = reservations.sumThenReset();
+        long waited = throttled.sumThenReset();
+        return total == 0 ? 0 : (double) waited / total;
+    }
+
+    private Bucket domainBucket(String domain) {
+        String key = domain.toLowerCase(Locale.ROOT);
+        Bucket bucket = domainBuckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        // Limita a quantidade de buckets (e de séries de métricas); o excedente divide um bucket comum
+        if (domainBuckets.size() >= properties.maxDomains() && !properties.domains().containsKey(key)) {
+            key = OTHER_DOMAINS;
+        }
+        return domainBuckets.computeIfAbsent(key, k ->
+                new Bucket("domain:" + k, properties.domains().getOrDefault(k, properties.domainDefault())));
+    }
+
+    private final class Bucket {
+
+        private final String name;
+        private final TokenBucket bucket;
+        private final int burst;
+        private final Counter throttledCounter;
+        private final Counter rejectedCounter;
+        private final Timer waitTimer;
+
+        private Bucket(String name, Limit limit) {
+            this.name = name;
+            this.bucket = new TokenBucket(limit.ratePerSecond(), limit.burst());
+            this.burst = Math.max(1, limit.burst());
+            Gauge.builder("email.ratelimit.tokens", bucket, TokenBucket::availableTokens)
+                    .description("Tokens disponíveis no bucket")
+                    .tag("bucket", name)
+                    .register(meterRegistry);
+            this.throttledCounter = Counter.builder("email.ratelimit.throttled")
+                    .description("Envios que esperaram por token")
+                    .tag("bucket", name)
+                    .register(meterRegistry);
+            this.rejectedCounter = Counter.builder("email.ratelimit.rejected")
+                    .description("Envios adiados por exceder a espera máxima")
+                    .tag("bucket", name)
+                    .register(meterRegistry);
+            this.waitTimer = Timer.builder("email.ratelimit.wait")
+                    .description("Tempo de espera por token")
+                    .tag("bucket", name)
+                    .register(meterRegistry);
+        }
+
+        private long reserve(int permits, long maxWaitNanos) {
+            long wait = bucket.reserve(permits, maxWaitNanos);
+            if (wait < 0) {
+                rejectedCounter.increment();
+                log.warn("Limite de envio excedido no bucket {} para {} emails", name, permits);
+            } else if (wait > 0) {
+                throttledCounter.increment();
+                waitTimer.record(Duration.ofNanos(wait));
+            }
+            return wait;
+        }
+    }
+}
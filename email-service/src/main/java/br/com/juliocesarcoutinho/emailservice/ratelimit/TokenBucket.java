@@ -0,0 +1,61 @@
+package br.com.juliocesarcoutinho.emailservice.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket sem locks, implementado como GCRA: o estado é um único instante teórico
+ * em que o balde estaria cheio de novo, atualizado por CAS.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+    private final LongSupplier nanoClock;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.capacityNanos = intervalNanos * Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Reserva as permissões e devolve quantos nanos é preciso esperar para usá-las,
+     * ou -1 (sem reservar nada) se a espera passaria de {@code maxWaitNanos}
+     */
+    public long reserve(int permits, long maxWaitNanos) {
+        long increment = intervalNanos * permits;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + increment;
+            long wait = Math.max(0, next - now - capacityNanos);
+
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Devolve permissões reservadas e não usadas
+     */
+    public void refund(int permits) {
+        fullAt.addAndGet(-intervalNanos * permits);
+    }
+
+    public double availableTokens() {
+        long debt = Math.max(0, fullAt.get() - nanoClock.getAsLong());
+        return (double) (capacityNanos - Math.min(debt, capacityNanos)) / intervalNanos;
+    }
+}
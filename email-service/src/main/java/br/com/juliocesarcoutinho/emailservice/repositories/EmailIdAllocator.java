@@ -0,0 +1,48 @@
+package br.com.juliocesarcoutinho.emailservice.repositories;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reserva ids de {@link Email} antes da gravação, usando o mesmo gerador pooled da entidade.
+ * <p>
+ * Assim as gravações via JDBC e via JPA compartilham os blocos de ids, e só há ida ao banco
+ * quando o bloco atual ({@code allocationSize}) se esgota.
+ */
+@Component
+public class EmailIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator generator;
+
+    public EmailIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Email.class)
+                .getGenerator();
+    }
+
+    /**
+     * Preenche o id dos emails que ainda não têm um
+     */
+    public void assignIds(List<Email> emails) {
+        if (emails.stream().allMatch(email -> email.getId() != null)) {
+            return;
+        }
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (Email email : emails) {
+                if (email.getId() == null) {
+                    email.setId((Long) generator.generate((SharedSessionContractImplementor) session, email));
+                }
+            }
+        }
+    }
+}
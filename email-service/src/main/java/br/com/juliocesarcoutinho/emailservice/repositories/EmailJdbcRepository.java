@@ -0,0 +1,117 @@
+package br.com.juliocesarcoutinho.emailservice.repositories;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritas em lote na tb_emails via JDBC, fora do ciclo de vida do Hibernate
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO tb_emails (id, email_from, email_to, email_cc, email_bcc, subject, text, status, error_message,
+                                   send_date, attempts, next_attempt_at)
+            VALUES (:id, :emailFrom, :emailTo, :emailCc, :emailBcc, :subject, :text, :status, :errorMessage,
+                    :sendDate, :attempts, :nextAttemptAt)
+            """;
+
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE tb_emails
+               SET status = :status, error_message = :errorMessage, attempts = :attempts, next_attempt_at = :nextAttemptAt
+             WHERE id = :id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EmailIdAllocator idAllocator;
+
+    /**
+     * Insere todos os emails em um único batch JDBC. Os ids vêm do gerador pooled da entidade,
+     * reservados antes do INSERT quando o email ainda não tem um.
+     */
+    @Transactional
+    public void insertAll(List<Email> emails) {
+        idAllocator.assignIds(emails);
+
+        SqlParameterSource[] params = emails.stream()
+                .map(this::toParams)
+                .toArray(SqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, params);
+    }
+
+    /**
+     * Atualiza status, erro, tentativas e próxima tentativa de vários emails em um único batch JDBC
+     */
+    @Transactional
+    public void updateStatusAll(List<Email> emails) {
+        SqlParameterSource[] params = emails.stream()
+                .map(email -> new MapSqlParameterSource()
+                        .addValue("id", email.getId())
+                        .addValue("status", email.getStatus().name())
+                        .addValue("errorMessage", email.getErrorMessage())
+                        .addValue("attempts", email.getAttempts())
+                        .addValue("nextAttemptAt", email.getNextAttemptAt()))
+                .toArray(SqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, params);
+    }
+
+    /**
+     * Grava inserções e atualizações de status acumuladas na mesma transação,
+     * inserções primeiro para que uma atualização nunca chegue antes da sua linha
+     */
+    @Transactional
+    public void writeAll(List<Email> inserts, List<Email> updates) {
+        if (!inserts.isEmpty()) {
+            insertAll(inserts);
+        }
+        if (!updates.isEmpty()) {
+            updateStatusAll(updates);
+        }
+    }
+
+    /**
+     * Copia o corpo do email direto do result set para o writer, sem montar a entidade
+     */
+    public void streamText(Long id, Writer writer) {
+        jdbcTemplate.query("SELECT text FROM tb_emails WHERE id = :id", Map.of("id", id), rs -> {
+            try (Reader reader = rs.getCharacterStream(1)) {
+                if (reader != null) {
+                    reader.transferTo(writer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private SqlParameterSource toParams(Email email) {
+        return new MapSqlParameterSource()
+                .addValue("id", email.getId())
+                .addValue("emailFrom", email.getEmailFrom())
+                .addValue("emailTo", email.getEmailTo())
+                .addValue("emailCc", email.getEmailCc())
+                .addValue("emailBcc", email.getEmailBcc())
+                .addValue("subject", email.getSubject())
+                .addValue("text", email.getText())
+                .addValue("status", email.getStatus().name())
+                .addValue("errorMessage", email.getErrorMessage())
+                .addValue("sendDate", email.getSendDate())
+                .addValue("attempts", email.getAttempts())
+                .addValue("nextAttemptAt", email.getNextAttemptAt());
+    }
+}
@@ -1,42 +1,91 @@
 package br.com.juliocesarcoutinho.emailservice.repositories;
 import br.com.juliocesarcoutinho.emailservice.entities.Email;
 import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import br.com.juliocesarcoutinho.emailservice.repositories.projections.EmailSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface EmailRepository extends JpaRepository<Email, Long> {
+public interface EmailRepository extends JpaRepository<Email, Long>, JpaSpecificationExecutor<Email> {
 
     Page<Email> findByStatus(StatusEmail status, Pageable pageable);
 
+    Page<EmailSummary> findSummariesBy(Pageable pageable);
+
+    Page<EmailSummary> findSummariesByStatus(StatusEmail status, Pageable pageable);
+
+    @Query("SELECT e.id AS id, e.emailFrom AS emailFrom, e.emailTo AS emailTo, e.subject AS subject, " +
+           "e.status AS status, e.sendDate AS sendDate, e.errorMessage AS errorMessage FROM Email e " +
+           "ORDER BY e.sendDate DESC, e.id DESC")
+    Slice<EmailSummary> findFirstSlice(Pageable pageable);
+
+    /**
+     * Próxima página do keyset (send_date, id), sem OFFSET e sem COUNT
+     */
+    @Query("SELECT e.id AS id, e.emailFrom AS emailFrom, e.emailTo AS emailTo, e.subject AS subject, " +
+           "e.status AS status, e.sendDate AS sendDate, e.errorMessage AS errorMessage FROM Email e " +
+           "WHERE e.sendDate < :sendDate OR (e.sendDate = :sendDate AND e.id < :id) " +
+           "ORDER BY e.sendDate DESC, e.id DESC")
+    Slice<EmailSummary> findSliceAfter(@Param("sendDate") LocalDateTime sendDate,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
     Page<Email> findByEmailFromContainingIgnoreCase(String emailFrom, Pageable pageable);
 
     Page<Email> findByEmailToContainingIgnoreCase(String emailTo, Pageable pageable);
 
-    @Query("SELECT e FROM Email e WHERE " +
-           "(:emailFrom IS NULL OR e.emailFrom LIKE %:emailFrom%) AND " +
-           "(:emailTo IS NULL OR e.emailTo LIKE %:emailTo%) AND " +
-           "(:subject IS NULL OR e.subject LIKE %:subject%) AND " +
-           "(:status IS NULL OR e.status = :status) AND " +
-           "(:startDate IS NULL OR e.sendDate >= :startDate) AND " +
-           "(:endDate IS NULL OR e.sendDate <= :endDate)")
-    Page<Email> findEmailsWithFilters(
-            @Param("emailFrom") String emailFrom,
-            @Param("emailTo") String emailTo,
-            @Param("subject") String subject,
-            @Param("status") StatusEmail status,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable);
-
     List<Email> findTop10ByStatusOrderBySendDateDesc(StatusEmail status);
 
     long countByStatus(StatusEmail status);
+
+    @Query("SELECT e.id AS id, e.nextAttemptAt AS nextAttemptAt FROM Email e " +
+           "WHERE e.status IN :statuses AND e.nextAttemptAt <= :until ORDER BY e.nextAttemptAt")
+    List<DueEmail> findDueBefore(@Param("statuses") Collection<StatusEmail> statuses,
+                                 @Param("until") LocalDateTime until,
+                                 Pageable pageable);
+
+    /**
+     * Trava as linhas ainda devidas com SKIP LOCKED, para que outra instância não as envie em paralelo
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM Email e WHERE e.id IN :ids AND e.status IN :statuses AND e.nextAttemptAt <= :now")
+    List<Email> findDueForUpdate(@Param("ids") Collection<Long> ids,
+                                 @Param("statuses") Collection<StatusEmail> statuses,
+                                 @Param("now") LocalDateTime now);
+
+    /**
+     * Renova o lease de um email PENDING somente se ele ainda for o mesmo que o worker recebeu.
+     * Retorna 0 quando o agendador já o reivindicou de novo (lease diferente) ou o status mudou.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Email e SET e.nextAttemptAt = :lease WHERE e.id = :id " +
+           "AND e.status = br.com.juliocesarcoutinho.emailservice.enums.StatusEmail.PENDING " +
+           "AND e.nextAttemptAt = :expectedLease")
+    int renewLease(@Param("id") Long id,
+                   @Param("expectedLease") LocalDateTime expectedLease,
+                   @Param("lease") LocalDateTime lease);
+
+    interface DueEmail {
+        Long getId();
+
+        LocalDateTime getNextAttemptAt();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package br.com.juliocesarcoutinho.emailservice.repositories.projections;
+
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colunas exibidas nas listagens de email, sem o corpo (text)
+ */
+public interface EmailSummary {
+
+    Long getId();
+
+    String getEmailFrom();
+
+    String getEmailTo();
+
+    String getSubject();
+
+    StatusEmail getStatus();
+
+    LocalDateTime getSendDate();
+
+    String getErrorMessage();
+}
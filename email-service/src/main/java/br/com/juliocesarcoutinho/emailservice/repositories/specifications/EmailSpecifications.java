@@ -0,0 +1,65 @@
+package br.com.juliocesarcoutinho.emailservice.repositories.specifications;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monta a consulta de filtros de email apenas com os predicados informados.
+ * <p>
+ * Endereços completos (com @) usam igualdade e parciais usam prefixo ({@code LIKE 'x%'}),
+ * ambos atendidos pelos índices (email_from, send_date) e (email_to, send_date).
+ * O assunto não tem índice e continua com busca por trecho.
+ */
+public final class EmailSpecifications {
+
+    private EmailSpecifications() {
+    }
+
+    public static Specification<Email> withFilters(String emailFrom, String emailTo, String subject,
+                                                   StatusEmail status,
+                                                   LocalDateTime startDate, LocalDateTime endDate) {
+        List<Specification<Email>> specs = new ArrayList<>();
+
+        if (hasText(emailFrom)) {
+            specs.add(address("emailFrom", emailFrom));
+        }
+        if (hasText(emailTo)) {
+            specs.add(address("emailTo", emailTo));
+        }
+        if (hasText(subject)) {
+            specs.add((root, query, cb) -> cb.like(root.get("subject"), "%" + escape(subject) + "%", '\\'));
+        }
+        if (status != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (startDate != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("sendDate"), startDate));
+        }
+        if (endDate != null) {
+            specs.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("sendDate"), endDate));
+        }
+
+        return Specification.allOf(specs);
+    }
+
+    private static Specification<Email> address(String attribute, String value) {
+        String trimmed = value.trim();
+        if (trimmed.contains("@")) {
+            return (root, query, cb) -> cb.equal(root.get(attribute), trimmed);
+        }
+        return (root, query, cb) -> cb.like(root.get(attribute), escape(trimmed) + "%", '\\');
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.juliocesarcoutinho.emailservice.resources;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,7 +15,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.juliocesarcoutinho.emailservice.dtos.CursorPageDTO;
+import br.com.juliocesarcoutinho.emailservice.dtos.EmailBatchRequestDTO;
 import br.com.juliocesarcoutinho.emailservice.dtos.EmailRequestDTO;
 import br.com.juliocesarcoutinho.emailservice.dtos.EmailResponseDTO;
 import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
@@ -26,12 +32,26 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EmailController implements EmailControllerDoc {
 
+    /**
+     * O HTML vem de quem enviou o email: sem scripts, formulários nem requisições para fora,
+     * e em uma origem isolada, para não rodar com os cookies e o token da API
+     */
+    private static final String EMAIL_BODY_CSP = "sandbox; default-src 'none'; style-src 'unsafe-inline'; img-src data:";
+
     private final EmailService emailService;
     
     @PostMapping
     @Override
     public ResponseEntity<EmailResponseDTO> sendEmail(@Valid @RequestBody EmailRequestDTO emailRequest) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(emailService.sendEmail(emailRequest));
+        EmailResponseDTO response = emailService.sendEmail(emailRequest);
+        HttpStatus status = response.status() == StatusEmail.PENDING ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @PostMapping("/batch")
+    @Override
+    public ResponseEntity<List<EmailResponseDTO>> sendBatch(@Valid @RequestBody EmailBatchRequestDTO batchRequest) {
+        return ResponseEntity.ok(emailService.sendBatch(batchRequest.emails()));
     }
 
     @GetMapping
@@ -42,6 +62,24 @@ public class EmailController implements EmailControllerDoc {
         return ResponseEntity.ok(emailService.getAllEmails(page, size));
     }
 
+    @GetMapping("/cursor")
+    @Override
+    public ResponseEntity<CursorPageDTO<EmailResponseDTO>> getEmailsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(emailService.getEmailsByCursor(cursor, size));
+    }
+
+    @GetMapping(value = "/{id}/body", produces = MediaType.TEXT_HTML_VALUE)
+    @Override
+    public ResponseEntity<StreamingResponseBody> getEmailBody(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .header("Content-Security-Policy", EMAIL_BODY_CSP)
+                .header("X-Content-Type-Options", "nosniff")
+                .body(emailService.getEmailBody(id));
+    }
+
     @GetMapping("/status/{status}")
     @Override
     public ResponseEntity<Page<EmailResponseDTO>> getEmailsByStatus(
@@ -1,9 +1,12 @@
 package br.com.juliocesarcoutinho.emailservice.resources.docs;
+import br.com.juliocesarcoutinho.emailservice.dtos.CursorPageDTO;
+import br.com.juliocesarcoutinho.emailservice.dtos.EmailBatchRequestDTO;
 import br.com.juliocesarcoutinho.emailservice.dtos.EmailRequestDTO;
 import br.com.juliocesarcoutinho.emailservice.dtos.EmailResponseDTO;
 import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
 import br.com.juliocesarcoutinho.emailservice.resources.docs.EmailControllerDoc;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,8 +15,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface EmailControllerDoc {
     
@@ -21,13 +26,43 @@ public interface EmailControllerDoc {
   @Operation(
         summary = "Enviar Email",
         description = "Endpoint para envio de emails com suporte a anexos, cópias e cópias ocultas",
+        responses = {
+            @ApiResponse(
+                description = "Created - email enviado de forma síncrona",
+                responseCode = "201",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = EmailResponseDTO.class)
+                )
+            ),
+            @ApiResponse(
+                description = "Accepted - email gravado como PENDING e enviado em segundo plano",
+                responseCode = "202",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = EmailResponseDTO.class)
+                )
+            ),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Forbidden", responseCode = "403", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+            @ApiResponse(description = "Service Unavailable - fila de envio cheia", responseCode = "503", content = @Content)
+        }
+    )
+    ResponseEntity<EmailResponseDTO> sendEmail(@Valid @RequestBody EmailRequestDTO emailRequest);
+
+    @Operation(
+        summary = "Enviar Emails em Lote",
+        description = "Endpoint para envio de até 1000 emails de uma vez. As mensagens são agrupadas por domínio de destino, " +
+                "cada grupo é enviado em uma única sessão SMTP e o retorno traz o status de cada email na ordem da requisição",
         responses = {
             @ApiResponse(
                 description = "Success",
                 responseCode = "200",
                 content = @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = EmailResponseDTO.class)
+                    array = @ArraySchema(schema = @Schema(implementation = EmailResponseDTO.class))
                 )
             ),
             @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
@@ -36,7 +71,7 @@ public interface EmailControllerDoc {
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
         }
     )
-    ResponseEntity<EmailResponseDTO> sendEmail(@Valid @RequestBody EmailRequestDTO emailRequest);
+    ResponseEntity<List<EmailResponseDTO>> sendBatch(@Valid @RequestBody EmailBatchRequestDTO batchRequest);
 
     @Operation(
         summary = "Listar Emails",
@@ -60,6 +95,45 @@ public interface EmailControllerDoc {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size);
 
+    @Operation(
+        summary = "Listar Emails por Cursor",
+        description = "Endpoint para listar emails do mais recente para o mais antigo usando paginação por cursor. " +
+                "Envie o nextCursor da resposta anterior para obter a próxima página; não há contagem total",
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CursorPageDTO.class)
+                )
+            ),
+            @ApiResponse(description = "Bad Request - cursor inválido", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
+        }
+    )
+    ResponseEntity<CursorPageDTO<EmailResponseDTO>> getEmailsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size);
+
+    @Operation(
+        summary = "Corpo do Email",
+        description = "Endpoint que devolve o corpo HTML de um email, enviado em streaming direto do banco. " +
+                      "A resposta vai com Content-Security-Policy sandbox: scripts e recursos externos não são carregados",
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = @Content(mediaType = "text/html")
+            ),
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
+        }
+    )
+    ResponseEntity<StreamingResponseBody> getEmailBody(@PathVariable Long id);
+
     @Operation(
         summary = "Listar Emails por Status",
         description = "Endpoint para listar emails filtrados por status",
@@ -0,0 +1,156 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import br.com.juliocesarcoutinho.emailservice.ratelimit.OutboundRateLimiter;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monta e envia a mensagem SMTP de um {@link Email}, registrando o resultado na própria entidade
+ * (status, tentativas e próxima tentativa). Não acessa o banco: quem chama decide quando persistir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailDeliveryService {
+
+    private final JavaMailSender emailSender;
+    private final EmailRetryPolicy retryPolicy;
+    private final OutboundRateLimiter rateLimiter;
+
+    /**
+     * Envia o email e atualiza status e mensagem de erro na entidade
+     */
+    public void deliver(Email email) {
+        email.setAttempts(email.getAttempts() + 1);
+        if (!rateLimiter.acquire(recipientDomain(email.getEmailTo()), 1)) {
+            markThrottled(email);
+            return;
+        }
+
+        try {
+            emailSender.send(toMimeMessage(email));
+
+            markSent(email);
+            log.info("Email enviado com sucesso para: {}", email.getEmailTo());
+        } catch (Exception e) {
+            markError(email, e);
+        }
+    }
+
+    /**
+     * Envia todos os emails em uma única sessão SMTP e registra o resultado de cada um.
+     * Os emails devem ser do mesmo domínio de destino, que é usado no rate limit; as permissões são pedidas
+     * em trechos de até um burst, e os trechos que não conseguirem permissão ficam para nova tentativa.
+     * Uma falha de conexão marca todos como ERROR; uma recusa de destinatário marca só o email afetado.
+     */
+    public void deliverInSession(List<Email> emails) {
+        Map<MimeMessage, Email> messages = new LinkedHashMap<>();
+        for (Email email : emails) {
+            email.setAttempts(email.getAttempts() + 1);
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (Exception e) {
+                markError(email, e);
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        String domain = recipientDomain(messages.values().iterator().next().getEmailTo());
+        List<Map.Entry<MimeMessage, Email>> pending = new ArrayList<>(messages.entrySet());
+        int chunkSize = rateLimiter.maxPermits(domain);
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Map.Entry<MimeMessage, Email>> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            if (!rateLimiter.acquire(domain, chunk.size())) {
+                pending.subList(from, pending.size()).forEach(entry -> markThrottled(entry.getValue()));
+                break;
+            }
+            sendChunk(chunk);
+        }
+
+        log.info("Sessão SMTP concluída com {} emails", messages.size());
+    }
+
+    /**
+     * Envia um trecho do lote que já tem permissões do rate limit. Com o sender em pool a conexão
+     * volta ao pool entre os trechos e é reaproveitada, sem novo handshake SMTP.
+     */
+    private void sendChunk(List<Map.Entry<MimeMessage, Email>> chunk) {
+        Map<MimeMessage, Email> messages = new LinkedHashMap<>();
+        chunk.forEach(entry -> messages.put(entry.getKey(), entry.getValue()));
+        messages.values().forEach(this::markSent);
+
+        try {
+            emailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(email -> markError(email, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> markError(messages.get(message), cause));
+            }
+        } catch (Exception e) {
+            messages.values().forEach(email -> markError(email, e));
+        }
+    }
+
+    private void markThrottled(Email email) {
+        // Não conta como tentativa: só adia o envio até sobrar capacidade
+        email.setAttempts(email.getAttempts() - 1);
+        retryPolicy.onFailure(email, "Limite de envio do domínio excedido");
+    }
+
+    private String recipientDomain(String address) {
+        return address.substring(address.lastIndexOf('@') + 1);
+    }
+
+    private void markSent(Email email) {
+        email.setStatus(StatusEmail.SENT);
+        email.setErrorMessage(null);
+        email.setNextAttemptAt(null);
+    }
+
+    private void markError(Email email, Exception e) {
+        if (email == null) {
+            return;
+        }
+        retryPolicy.onFailure(email, e.getMessage());
+        log.error("Erro ao enviar email para: {} (tentativa {})", email.getEmailTo(), email.getAttempts(), e);
+    }
+
+    private MimeMessage toMimeMessage(Email email) throws MessagingException {
+        MimeMessage message = emailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(email.getEmailFrom());
+        helper.setTo(email.getEmailTo());
+
+        if (email.getEmailCc() != null && !email.getEmailCc().isEmpty()) {
+            helper.setCc(email.getEmailCc());
+        }
+
+        if (email.getEmailBcc() != null && !email.getEmailBcc().isEmpty()) {
+            helper.setBcc(email.getEmailBcc());
+        }
+
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getText(), true); // true indica que o conteúdo é HTML
+
+        return message;
+    }
+}
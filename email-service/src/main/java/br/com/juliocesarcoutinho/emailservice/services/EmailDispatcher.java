@@ -0,0 +1,147 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import br.com.juliocesarcoutinho.emailservice.exceptions.EmailQueueFullException;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de envio assíncrono: o email é gravado como PENDING e entregue por um worker
+ * fora da thread da requisição, sem segurar conexão do banco durante o SMTP.
+ * <p>
+ * A fila é limitada por um semáforo com {@code queue-capacity + concurrency} vagas;
+ * quando não há vaga dentro de {@code offer-timeout-ms} a requisição é recusada antes de tocar no banco.
+ * <p>
+ * O lease gravado com o email pode vencer enquanto ele espera na fila. Por isso o worker renova o lease
+ * ao começar, condicionado ao valor que recebeu: se o agendador de retry já reivindicou a linha, o envio
+ * é abandonado em vez de sair duplicado.
+ */
+@Component
+@Slf4j
+public class EmailDispatcher {
+
+    private final EmailRepository emailRepository;
+    private final EmailDeliveryService deliveryService;
+    private final EmailRetryPolicy retryPolicy;
+    private final EmailLogWriter logWriter;
+    private final boolean async;
+    private final long offerTimeoutMs;
+    private final Semaphore slots;
+    private final ExecutorService executor;
+
+    public EmailDispatcher(EmailRepository emailRepository,
+                           EmailDeliveryService deliveryService,
+                           EmailRetryPolicy retryPolicy,
+                           EmailLogWriter logWriter,
+                           @Value("${app.email.dispatch.async:true}") boolean async,
+                           @Value("${app.email.dispatch.concurrency:16}") int concurrency,
+                           @Value("${app.email.dispatch.queue-capacity:1000}") int queueCapacity,
+                           @Value("${app.email.dispatch.offer-timeout-ms:0}") long offerTimeoutMs) {
+        this.emailRepository = emailRepository;
+        this.deliveryService = deliveryService;
+        this.retryPolicy = retryPolicy;
+        this.logWriter = logWriter;
+        this.async = async;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.slots = new Semaphore(concurrency + queueCapacity);
+        this.executor = Executors.newFixedThreadPool(concurrency,
+                Thread.ofVirtual().name("email-dispatch-", 0).factory());
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Reserva uma vaga na fila, grava o email como PENDING e agenda o envio
+     */
+    public Email accept(Email email) {
+        if (!tryReserveSlot()) {
+            throw new EmailQueueFullException("Fila de envio cheia, tente novamente em instantes");
+        }
+
+        Email savedEmail;
+        try {
+            email.setStatus(StatusEmail.PENDING);
+            email.setNextAttemptAt(retryPolicy.leaseUntil());
+            savedEmail = emailRepository.save(email);
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+
+        // O worker recebe uma cópia para não alterar o objeto que a requisição devolve
+        submit(savedEmail.toBuilder().build());
+        return savedEmail;
+    }
+
+    /**
+     * Agenda o envio de emails já gravados como PENDING, bloqueando enquanto a fila estiver cheia.
+     * Usado pelo consumidor da fila para propagar a pressão de volta ao broker.
+     */
+    public void dispatchAll(List<Email> emails) {
+        for (Email email : emails) {
+            if (email.getStatus() != StatusEmail.PENDING) {
+                continue;
+            }
+            slots.acquireUninterruptibly();
+            submit(email);
+        }
+    }
+
+    private boolean tryReserveSlot() {
+        try {
+            return slots.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void submit(Email email) {
+        executor.execute(() -> {
+            try {
+                if (!renewLease(email)) {
+                    log.info("Email {} reivindicado pelo agendador de retry enquanto aguardava na fila, envio ignorado",
+                            email.getId());
+                    return;
+                }
+                deliveryService.deliver(email);
+                logWriter.recordStatus(email);
+            } catch (Exception e) {
+                log.error("Erro ao registrar envio do email {}", email.getId(), e);
+            } finally {
+                slots.release();
+            }
+        });
+    }
+
+    private boolean renewLease(Email email) {
+        LocalDateTime lease = retryPolicy.leaseUntil();
+        if (emailRepository.renewLease(email.getId(), email.getNextAttemptAt(), lease) == 0) {
+            return false;
+        }
+        email.setNextAttemptAt(lease);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Envio assíncrono encerrado com emails ainda pendentes");
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailIdAllocator;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Gravação write-behind do registro de envio: os resultados ficam em um buffer e são
+ * gravados em batches JDBC quando o buffer atinge {@code batch-size} ou quando
+ * {@code flush-interval-ms} se passa desde o primeiro item pendente.
+ * <p>
+ * O buffer é limitado; quando está cheio quem grava espera, o que segura os workers de envio.
+ * No desligamento tudo o que ainda estiver no buffer é gravado antes do pool de conexões fechar.
+ */
+@Component
+@Slf4j
+public class EmailLogWriter {
+
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    private static final Entry WAKE_UP = new Entry(null, false);
+
+    private final EmailJdbcRepository emailJdbcRepository;
+    private final EmailIdAllocator idAllocator;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Entry> buffer;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public EmailLogWriter(EmailJdbcRepository emailJdbcRepository,
+                          EmailIdAllocator idAllocator,
+                          @Value("${app.email.log-writer.batch-size:500}") int batchSize,
+                          @Value("${app.email.log-writer.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${app.email.log-writer.capacity:10000}") int capacity) {
+        this.emailJdbcRepository = emailJdbcRepository;
+        this.idAllocator = idAllocator;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.buffer = new LinkedBlockingQueue<>(capacity);
+        this.flusher = Thread.ofPlatform().daemon().name("email-log-writer").start(this::run);
+    }
+
+    /**
+     * Agenda a inserção de um email já processado. O id é reservado na hora,
+     * para que a resposta já o contenha antes da linha ser gravada.
+     */
+    public void append(Email email) {
+        idAllocator.assignIds(List.of(email));
+        enqueue(new Entry(email, true));
+    }
+
+    /**
+     * Agenda a atualização de status de um email que já existe na tabela
+     */
+    public void recordStatus(Email email) {
+        enqueue(new Entry(email, false));
+    }
+
+    private void enqueue(Entry entry) {
+        if (!running) {
+            flush(List.of(entry));
+            return;
+        }
+
+        try {
+            buffer.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flush(List.of(entry));
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Entry first = buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize && running) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Email> inserts = new ArrayList<>();
+        List<Email> updates = new ArrayList<>();
+        for (Entry entry : batch) {
+            if (entry != WAKE_UP) {
+                (entry.insert() ? inserts : updates).add(entry.email());
+            }
+        }
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return;
+        }
+
+        for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+            try {
+                emailJdbcRepository.writeAll(inserts, updates);
+                log.debug("Registro de envio gravado: {} inserções e {} atualizações", inserts.size(), updates.size());
+                return;
+            } catch (Exception e) {
+                if (attempt == MAX_FLUSH_ATTEMPTS) {
+                    log.error("Falha ao gravar registro de envio, descartando {} inserções e {} atualizações: ids {}",
+                            inserts.size(), updates.size(),
+                            Stream.concat(inserts.stream(), updates.stream()).map(Email::getId).toList(), e);
+                    return;
+                }
+                log.warn("Falha ao gravar registro de envio, tentativa {} de {}", attempt, MAX_FLUSH_ATTEMPTS, e);
+                sleep(attempt * 200L);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Para de aceitar itens no buffer e espera o flusher gravar o que restou
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        buffer.offer(WAKE_UP);
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+
+        List<Entry> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        remaining.remove(WAKE_UP);
+        if (!remaining.isEmpty()) {
+            log.warn("Gravando {} registros de envio restantes no desligamento", remaining.size());
+            flush(remaining);
+        }
+    }
+
+    private record Entry(Email email, boolean insert) {}
+}
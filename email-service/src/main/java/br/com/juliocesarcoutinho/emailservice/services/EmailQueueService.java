@@ -0,0 +1,86 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import br.com.juliocesarcoutinho.emailservice.dtos.EmailMessageDTO;
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Converte as mensagens recebidas pela fila em registros de {@link Email}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailQueueService {
+
+    private final EmailRepository emailRepository;
+    private final EmailTemplateService templateService;
+    private final EmailRetryPolicy retryPolicy;
+
+    @Value("${app.email.default-from}")
+    private String defaultFrom;
+
+    /**
+     * Grava o lote inteiro em uma única transação. Mensagens inválidas ou que não puderem ser
+     * renderizadas ficam como DEAD (ou são descartadas, sem destinatário) em vez de derrubar o lote,
+     * o que faria a fila reentregá-lo.
+     */
+    @Transactional
+    public List<Email> persistBatch(List<EmailMessageDTO> messages) {
+        List<Email> emails = messages.stream()
+                .filter(this::hasRecipient)
+                .map(this::toEntity)
+                .toList();
+
+        return emailRepository.saveAll(emails);
+    }
+
+    /**
+     * Sem destinatário não há como registrar o email (a coluna é obrigatória): a mensagem é descartada
+     */
+    private boolean hasRecipient(EmailMessageDTO message) {
+        if (message == null || message.to() == null || message.to().isBlank()) {
+            log.error("Mensagem da fila descartada por não ter destinatário: {}", message);
+            return false;
+        }
+        return true;
+    }
+
+    private Email toEntity(EmailMessageDTO message) {
+        Email email = new Email();
+        email.setEmailFrom(defaultFrom);
+        email.setEmailTo(message.to());
+        email.setSubject(message.subject() != null ? message.subject() : "");
+        email.setSendDate(LocalDateTime.now());
+
+        if (message.subject() == null || message.subject().isBlank()) {
+            email.setText("");
+            email.setStatus(StatusEmail.DEAD);
+            email.setErrorMessage("Mensagem da fila sem assunto");
+            log.error("Mensagem da fila sem assunto para: {}", message.to());
+            return email;
+        }
+
+        try {
+            email.setText(templateService.render(message.template(), message.variables()));
+            email.setStatus(StatusEmail.PENDING);
+            email.setNextAttemptAt(retryPolicy.leaseUntil());
+        } catch (Exception e) {
+            // Falha de template não se resolve com nova tentativa
+            email.setText("");
+            email.setStatus(StatusEmail.DEAD);
+            email.setErrorMessage(e.getMessage());
+            log.error("Erro ao montar email da fila para: {}", message.to(), e);
+        }
+
+        return email;
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide quando um email com falha será tentado de novo: backoff exponencial com jitter
+ * e estado terminal DEAD ao atingir o limite de tentativas.
+ */
+@Component
+@Slf4j
+public class EmailRetryPolicy {
+
+    @Value("${app.email.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.email.retry.base-delay-ms:30000}")
+    private long baseDelayMs;
+
+    @Value("${app.email.retry.max-delay-ms:3600000}")
+    private long maxDelayMs;
+
+    @Value("${app.email.retry.lease-ms:300000}")
+    private long leaseMs;
+
+    /**
+     * Registra a falha: agenda a próxima tentativa ou marca o email como DEAD
+     */
+    public void onFailure(Email email, String errorMessage) {
+        email.setErrorMessage(errorMessage);
+
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(StatusEmail.DEAD);
+            email.setNextAttemptAt(null);
+            log.warn("Email {} para {} descartado após {} tentativas", email.getId(), email.getEmailTo(), email.getAttempts());
+            return;
+        }
+
+        email.setStatus(StatusEmail.ERROR);
+        email.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffMs(email.getAttempts()) * 1_000_000L));
+    }
+
+    /**
+     * Prazo até o qual um email PENDING pertence a quem o gravou; depois disso é retomado pelo agendador.
+     * Truncado em segundos, a precisão da coluna, para que o valor em memória possa ser comparado
+     * com o gravado na renovação condicional do lease.
+     */
+    public LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plusNanos(leaseMs * 1_000_000L).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Metade fixa e metade aleatória do atraso exponencial, para espalhar as novas tentativas
+     */
+    private long backoffMs(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        long delay = Math.min(maxDelayMs, baseDelayMs << exponent);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailRepository.DueEmail;
+import br.com.juliocesarcoutinho.emailservice.utils.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reenvia emails com falha no horário previsto em {@code next_attempt_at}.
+ * <p>
+ * Uma varredura leve pelo índice (status, next_attempt_at) carrega no {@link TimingWheel}
+ * apenas os emails que vencem dentro do horizonte configurado; o wheel dispara cada um
+ * no momento certo e o claim com SKIP LOCKED garante que só uma instância o envie.
+ */
+@Component
+@Slf4j
+public class EmailRetryScheduler {
+
+    private final EmailRetryService retryService;
+    private final EmailDispatcher emailDispatcher;
+    private final long horizonMs;
+    private final int batchSize;
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+    private final TimingWheel<Long> wheel;
+    private final ExecutorService claimExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("email-retry-claim").factory());
+
+    public EmailRetryScheduler(EmailRetryService retryService,
+                               EmailDispatcher emailDispatcher,
+                               @Value("${app.email.retry.horizon-ms:30000}") long horizonMs,
+                               @Value("${app.email.retry.batch-size:200}") int batchSize,
+                               @Value("${app.email.retry.tick-ms:500}") long tickMs,
+                               @Value("${app.email.retry.wheel-size:512}") int wheelSize) {
+        this.retryService = retryService;
+        this.emailDispatcher = emailDispatcher;
+        this.horizonMs = horizonMs;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMs, wheelSize, this::onDue, "email-retry-wheel");
+    }
+
+    /**
+     * Carrega no wheel os emails que vencem até o fim do horizonte.
+     * O intervalo da varredura deve ser menor que o horizonte para não deixar lacunas.
+     */
+    @Scheduled(fixedDelayString = "${app.email.retry.sweep-interval-ms:15000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DueEmail> dueEmails = retryService.findDueBefore(now.plusNanos(horizonMs * 1_000_000L), batchSize);
+
+        for (DueEmail dueEmail : dueEmails) {
+            if (scheduled.add(dueEmail.getId())) {
+                wheel.schedule(dueEmail.getId(), Duration.between(now, dueEmail.getNextAttemptAt()).toMillis());
+            }
+        }
+    }
+
+    private void onDue(List<Long> ids) {
+        // Sai da thread do wheel: o claim vai ao banco e o dispatch pode bloquear com a fila cheia
+        claimExecutor.execute(() -> {
+            try {
+                List<Email> claimed = retryService.claimDue(ids);
+                if (!claimed.isEmpty()) {
+                    log.info("Reenviando {} emails", claimed.size());
+                    emailDispatcher.dispatchAll(claimed);
+                }
+            } catch (Exception e) {
+                log.error("Erro ao reenviar emails {}", ids, e);
+            } finally {
+                ids.forEach(scheduled::remove);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.close();
+        claimExecutor.shutdownNow();
+    }
+}
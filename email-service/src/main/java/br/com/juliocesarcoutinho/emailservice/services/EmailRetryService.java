@@ -0,0 +1,52 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailRepository;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailRepository.DueEmail;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consultas e reivindicação (claim) dos emails que aguardam nova tentativa.
+ * PENDING entra junto para retomar envios de uma instância que caiu antes de concluir.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailRetryService {
+
+    private static final Set<StatusEmail> RETRYABLE = EnumSet.of(StatusEmail.ERROR, StatusEmail.PENDING);
+
+    private final EmailRepository emailRepository;
+    private final EmailRetryPolicy retryPolicy;
+
+    @Transactional(readOnly = true)
+    public List<DueEmail> findDueBefore(LocalDateTime until, int limit) {
+        return emailRepository.findDueBefore(RETRYABLE, until, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Trava com SKIP LOCKED os emails ainda devidos e os marca como PENDING com um novo lease.
+     * Linhas travadas ou já reivindicadas por outra instância são simplesmente ignoradas.
+     */
+    @Transactional
+    public List<Email> claimDue(Collection<Long> ids) {
+        List<Email> emails = emailRepository.findDueForUpdate(ids, RETRYABLE, LocalDateTime.now());
+
+        LocalDateTime lease = retryPolicy.leaseUntil();
+        emails.forEach(email -> {
+            email.setStatus(StatusEmail.PENDING);
+            email.setNextAttemptAt(lease);
+        });
+
+        return emails;
+    }
+}
@@ -1,21 +1,38 @@
 package br.com.juliocesarcoutinho.emailservice.services;
 import br.com.juliocesarcoutinho.emailservice.dtos.EmailRequestDTO;
+import br.com.juliocesarcoutinho.emailservice.dtos.CursorPageDTO;
 import br.com.juliocesarcoutinho.emailservice.dtos.EmailResponseDTO;
 import br.com.juliocesarcoutinho.emailservice.entities.Email;
 import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import br.com.juliocesarcoutinho.emailservice.exceptions.InvalidCursorException;
+import br.com.juliocesarcoutinho.emailservice.exceptions.ResourceNotFoundException;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailJdbcRepository;
 import br.com.juliocesarcoutinho.emailservice.repositories.EmailRepository;
-import jakarta.mail.internet.MimeMessage;
+import br.com.juliocesarcoutinho.emailservice.repositories.projections.EmailSummary;
+import br.com.juliocesarcoutinho.emailservice.repositories.specifications.EmailSpecifications;
+import br.com.juliocesarcoutinho.emailservice.utils.CursorToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,109 +40,176 @@ import java.time.LocalDateTime;
 public class EmailService {
 
     private final EmailRepository emailRepository;
-    private final JavaMailSender emailSender;
-
-    @Transactional
+    private final EmailDeliveryService deliveryService;
+    private final EmailDispatcher emailDispatcher;
+    private final EmailJdbcRepository emailJdbcRepository;
+    private final EmailLogWriter emailLogWriter;
+
+    @Value("${app.email.batch.parallel-sessions:4}")
+    private int batchParallelSessions;
+
+    /**
+     * Envia um email. No modo assíncrono grava como PENDING e devolve imediatamente;
+     * caso contrário envia na thread da requisição e agenda a gravação do resultado no {@link EmailLogWriter}.
+     * Nenhum dos modos mantém transação aberta durante o SMTP.
+     */
     public EmailResponseDTO sendEmail(EmailRequestDTO emailRequest) {
-        Email email = new Email();
-        email.setEmailFrom(emailRequest.emailFrom());
-        email.setEmailTo(emailRequest.emailTo());
-        email.setEmailCc(emailRequest.emailCc());
-        email.setEmailBcc(emailRequest.emailBcc());
-        email.setSubject(emailRequest.subject());
-        email.setText(emailRequest.text());
-        email.setSendDate(LocalDateTime.now());
-
-        try {
-            MimeMessage message = emailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        Email email = toEntity(emailRequest);
 
-            helper.setFrom(email.getEmailFrom());
-            helper.setTo(email.getEmailTo());
-
-            if (email.getEmailCc() != null && !email.getEmailCc().isEmpty()) {
-                helper.setCc(email.getEmailCc());
-            }
-
-            if (email.getEmailBcc() != null && !email.getEmailBcc().isEmpty()) {
-                helper.setBcc(email.getEmailBcc());
-            }
+        if (emailDispatcher.isAsync()) {
+            return toResponseDTO(emailDispatcher.accept(email));
+        }
 
-            helper.setSubject(email.getSubject());
-            helper.setText(email.getText(), true); // true indica que o conteúdo é HTML
+        deliveryService.deliver(email);
+        emailLogWriter.append(email);
 
-            emailSender.send(message);
+        return toResponseDTO(email);
+    }
 
-            email.setStatus(StatusEmail.SENT);
-            log.info("Email enviado com sucesso para: {}", email.getEmailTo());
-        } catch (Exception e) {
-            email.setStatus(StatusEmail.ERROR);
-            email.setErrorMessage(e.getMessage());
-            log.error("Erro ao enviar email para: {}", email.getEmailTo(), e);
+    /**
+     * Envia um lote de emails agrupados por domínio de destino, uma sessão SMTP por grupo,
+     * e grava todos os status em um único batch JDBC. O retorno segue a ordem da requisição.
+     */
+    public List<EmailResponseDTO> sendBatch(List<EmailRequestDTO> emailRequests) {
+        List<Email> emails = emailRequests.stream()
+                .map(this::toEntity)
+                .toList();
+
+        Map<String, List<Email>> sessions = emails.stream()
+                .collect(Collectors.groupingBy(email -> recipientDomain(email.getEmailTo()),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(batchParallelSessions, sessions.size()),
+                Thread.ofVirtual().name("email-batch-", 0).factory())) {
+            sessions.values().forEach(group -> executor.execute(() -> deliveryService.deliverInSession(group)));
         }
 
-        Email savedEmail = emailRepository.save(email);
+        emailJdbcRepository.insertAll(emails);
+        log.info("Lote de {} emails processado em {} sessões SMTP", emails.size(), sessions.size());
 
-        return new EmailResponseDTO(
-                savedEmail.getId(),
-                savedEmail.getEmailFrom(),
-                savedEmail.getEmailTo(),
-                savedEmail.getSubject(),
-                savedEmail.getStatus(),
-                savedEmail.getSendDate(),
-                savedEmail.getErrorMessage()
-        );
+        return emails.stream()
+                .map(this::toResponseDTO)
+                .toList();
     }
 
     public Page<EmailResponseDTO> getAllEmails(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return emailRepository.findAll(pageable)
-                .map(email -> new EmailResponseDTO(
-                        email.getId(),
-                        email.getEmailFrom(),
-                        email.getEmailTo(),
-                        email.getSubject(),
-                        email.getStatus(),
-                        email.getSendDate(),
-                        email.getErrorMessage()
-                ));
+        return emailRepository.findSummariesBy(pageable)
+                .map(this::toResponseDTO);
     }
 
     public Page<EmailResponseDTO> getEmailsByStatus(StatusEmail status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return emailRepository.findByStatus(status, pageable)
-                .map(email -> new EmailResponseDTO(
-                        email.getId(),
-                        email.getEmailFrom(),
-                        email.getEmailTo(),
-                        email.getSubject(),
-                        email.getStatus(),
-                        email.getSendDate(),
-                        email.getErrorMessage()
-                ));
+        return emailRepository.findSummariesByStatus(status, pageable)
+                .map(this::toResponseDTO);
+    }
+
+    /**
+     * Lista os emails do mais recente para o mais antigo a partir de um cursor,
+     * sem OFFSET e sem a contagem total da paginação tradicional
+     */
+    public CursorPageDTO<EmailResponseDTO> getEmailsByCursor(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<EmailSummary> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = emailRepository.findFirstSlice(pageable);
+        } else {
+            CursorToken token = CursorToken.decode(cursor);
+            slice = emailRepository.findSliceAfter(token.timestamp(), parseId(token.id()), pageable);
+        }
+
+        List<EmailSummary> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            EmailSummary last = content.get(content.size() - 1);
+            nextCursor = new CursorToken(last.getSendDate(), String.valueOf(last.getId())).encode();
+        }
+
+        return new CursorPageDTO<>(
+                content.stream().map(this::toResponseDTO).toList(),
+                content.size(),
+                slice.hasNext(),
+                nextCursor
+        );
+    }
+
+    /**
+     * Devolve o corpo do email para ser escrito direto na resposta, sem carregar a entidade
+     */
+    public StreamingResponseBody getEmailBody(Long id) {
+        if (!emailRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Email não encontrado");
+        }
+
+        return outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            emailJdbcRepository.streamText(id, writer);
+            writer.flush();
+        };
     }
 
     public Page<EmailResponseDTO> findEmailsWithFilters(String emailFrom, String emailTo,
                                                             String subject, String status,
                                                             LocalDateTime startDate, LocalDateTime endDate,
                                                             int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "sendDate"));
         StatusEmail statusEnum = status != null ? StatusEmail.valueOf(status) : null;
 
-        return emailRepository.findEmailsWithFilters(
-                        emailFrom, emailTo, subject, statusEnum, startDate, endDate, pageable)
-                .map(email -> new EmailResponseDTO(
-                        email.getId(),
-                        email.getEmailFrom(),
-                        email.getEmailTo(),
-                        email.getSubject(),
-                        email.getStatus(),
-                        email.getSendDate(),
-                        email.getErrorMessage()
-                ));
+        return emailRepository.findBy(EmailSpecifications.withFilters(
+                        emailFrom, emailTo, subject, statusEnum, startDate, endDate),
+                        query -> query.as(EmailSummary.class).page(pageable))
+                .map(this::toResponseDTO);
     }
 
     public long countEmailsByStatus(StatusEmail status) {
         return emailRepository.countByStatus(status);
     }
-}
\ No newline at end of file
+
+    private Email toEntity(EmailRequestDTO emailRequest) {
+        Email email = new Email();
+        email.setEmailFrom(emailRequest.emailFrom());
+        email.setEmailTo(emailRequest.emailTo());
+        email.setEmailCc(emailRequest.emailCc());
+        email.setEmailBcc(emailRequest.emailBcc());
+        email.setSubject(emailRequest.subject());
+        email.setText(emailRequest.text());
+        email.setSendDate(LocalDateTime.now());
+        return email;
+    }
+
+    private String recipientDomain(String address) {
+        return address.substring(address.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private Long parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor de paginação inválido");
+        }
+    }
+
+    private EmailResponseDTO toResponseDTO(EmailSummary email) {
+        return new EmailResponseDTO(
+                email.getId(),
+                email.getEmailFrom(),
+                email.getEmailTo(),
+                email.getSubject(),
+                email.getStatus(),
+                email.getSendDate(),
+                email.getErrorMessage()
+        );
+    }
+
+    private EmailResponseDTO toResponseDTO(Email email) {
+        return new EmailResponseDTO(
+                email.getId(),
+                email.getEmailFrom(),
+                email.getEmailTo(),
+                email.getSubject(),
+                email.getStatus(),
+                email.getSendDate(),
+                email.getErrorMessage()
+        );
+    }
+}
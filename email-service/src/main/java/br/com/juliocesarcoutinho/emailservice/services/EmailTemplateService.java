@@ -0,0 +1,137 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import br.com.juliocesarcoutinho.emailservice.template.CompiledTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renderiza os templates HTML de {@code app.email.templates.location}, trocando {@code ${variavel}} pelos valores informados.
+ * <p>
+ * Cada template é lido e interpretado uma única vez e fica em um cache LRU de até {@code cache-size} entradas.
+ * A cada {@code check-interval-ms} a data de modificação do arquivo é conferida e, se mudou, o template é recompilado.
+ */
+@Service
+@Slf4j
+public class EmailTemplateService {
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final long checkIntervalNanos;
+    private final Map<String, Entry> cache;
+    private final Object compileLock = new Object();
+
+    public EmailTemplateService(ResourceLoader resourceLoader,
+                                @Value("${app.email.templates.location:classpath:templates/}") String location,
+                                @Value("${app.email.templates.cache-size:64}") int cacheSize,
+                                @Value("${app.email.templates.check-interval-ms:5000}") long checkIntervalMs) {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(checkIntervalMs);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public String render(String template, Map<String, Object> variables) {
+        return getCompiled(template).render(variables);
+    }
+
+    /**
+     * Devolve o template compilado do cache, compilando na primeira vez ou quando o arquivo mudou
+     */
+    public CompiledTemplate getCompiled(String template) {
+        Entry entry = lookup(template);
+        long now = System.nanoTime();
+        if (entry != null && now - entry.checkedAt() < checkIntervalNanos) {
+            return entry.compiled();
+        }
+
+        // Só um recarregamento por vez; as demais threads aproveitam o resultado
+        synchronized (compileLock) {
+            entry = lookup(template);
+            if (entry != null && now - entry.checkedAt() < checkIntervalNanos) {
+                return entry.compiled();
+            }
+
+            Resource resource = resolve(template);
+            long lastModified = lastModified(resource);
+            if (entry != null && entry.lastModified() == lastModified) {
+                store(template, new Entry(entry.compiled(), lastModified, System.nanoTime()));
+                return entry.compiled();
+            }
+
+            CompiledTemplate compiled = CompiledTemplate.compile(load(template, resource));
+            store(template, new Entry(compiled, lastModified, System.nanoTime()));
+            if (entry != null) {
+                log.info("Template {} alterado, recompilado", template);
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * Descarta o template do cache, forçando nova leitura na próxima renderização
+     */
+    public void invalidate(String template) {
+        synchronized (cache) {
+            cache.remove(template);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private Entry lookup(String template) {
+        synchronized (cache) {
+            return cache.get(template);
+        }
+    }
+
+    private void store(String template, Entry entry) {
+        synchronized (cache) {
+            cache.put(template, entry);
+        }
+    }
+
+    private Resource resolve(String template) {
+        if (template == null || template.isBlank() || template.contains("..") || template.contains("/")) {
+            throw new IllegalArgumentException("Template inválido: " + template);
+        }
+        return resourceLoader.getResource(location + template + ".html");
+    }
+
+    private String load(String template, Resource resource) {
+        try (InputStream input = resource.getInputStream()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Template não encontrado: " + template, e);
+        }
+    }
+
+    private long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // Sem data de modificação (ou arquivo ausente): a leitura decide se o template existe
+            return -1;
+        }
+    }
+
+    private record Entry(CompiledTemplate compiled, long lastModified, long checkedAt) {}
+}
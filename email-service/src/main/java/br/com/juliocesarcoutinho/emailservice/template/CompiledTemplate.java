@@ -0,0 +1,101 @@
+package br.com.juliocesarcoutinho.emailservice.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Template já interpretado: o texto é quebrado uma única vez em trechos fixos intercalados
+ * com nomes de variáveis ({@code ${variavel}}). Imutável, pode ser compartilhado entre threads.
+ * <p>
+ * Os valores são escapados para HTML, já que podem vir do usuário (o nome no cadastro, por exemplo).
+ * Para inserir um valor sem escape, o que só deve ser usado com conteúdo confiável, use {@code ${!variavel}}.
+ * <p>
+ * Variáveis sem valor no mapa são mantidas como estão no texto, como no template original.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "${";
+    private static final char CLOSE = '}';
+    private static final char RAW = '!';
+    private static final int VARIABLE_SIZE_ESTIMATE = 32;
+
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean[] raw;
+    private final String[] placeholders;
+    private final int sizeEstimate;
+
+    private CompiledTemplate(String[] literals, String[] variables, boolean[] raw, int literalLength) {
+        this.literals = literals;
+        this.variables = variables;
+        this.raw = raw;
+        this.placeholders = new String[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            placeholders[i] = OPEN + (raw[i] ? String.valueOf(RAW) : "") + variables[i] + CLOSE;
+        }
+        this.sizeEstimate = literalLength + variables.length * VARIABLE_SIZE_ESTIMATE;
+    }
+
+    /**
+     * Interpreta o texto do template. Um {@code ${} sem fechamento é tratado como texto fixo.
+     */
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+
+        while (true) {
+            int start = source.indexOf(OPEN, position);
+            int end = start < 0 ? -1 : source.indexOf(CLOSE, start + OPEN.length());
+            if (end < 0) {
+                String tail = source.substring(position);
+                literals.add(tail);
+                literalLength += tail.length();
+                break;
+            }
+
+            String literal = source.substring(position, start);
+            literals.add(literal);
+            literalLength += literal.length();
+            String variable = source.substring(start + OPEN.length(), end).trim();
+            boolean unescaped = !variable.isEmpty() && variable.charAt(0) == RAW;
+            variables.add(unescaped ? variable.substring(1).trim() : variable);
+            raw.add(unescaped);
+            position = end + 1;
+        }
+
+        boolean[] rawFlags = new boolean[raw.size()];
+        for (int i = 0; i < rawFlags.length; i++) {
+            rawFlags[i] = raw.get(i);
+        }
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new), rawFlags, literalLength);
+    }
+
+    /**
+     * Monta o texto final em um único buffer, já dimensionado para o tamanho esperado
+     */
+    public String render(Map<String, ?> values) {
+        StringBuilder output = new StringBuilder(sizeEstimate);
+        for (int i = 0; i < variables.length; i++) {
+            output.append(literals[i]);
+            Object value = values != null ? values.get(variables[i]) : null;
+            if (value != null || (values != null && values.containsKey(variables[i]))) {
+                String text = String.valueOf(value);
+                output.append(raw[i] ? text : HtmlUtils.htmlEscape(text, "UTF-8"));
+            } else {
+                output.append(placeholders[i]);
+            }
+        }
+        output.append(literals[variables.length]);
+        return output.toString();
+    }
+
+    public List<String> getVariables() {
+        return List.of(variables);
+    }
+}
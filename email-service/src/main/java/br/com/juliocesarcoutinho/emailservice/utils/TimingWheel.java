@@ -0,0 +1,128 @@
+package br.com.juliocesarcoutinho.emailservice.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Timing wheel com hash (Varghese e Lauck): agendar e expirar custam O(1) por item,
+ * independentemente de quantos itens estão aguardando.
+ * <p>
+ * Cada tick avança um slot do anel; itens com prazo além de uma volta guardam quantas
+ * voltas ainda faltam. Só a thread do tick mexe nos slots; {@link #schedule} apenas
+ * enfileira o item para ser distribuído no próximo tick.
+ */
+@Slf4j
+public class TimingWheel<T> implements AutoCloseable {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<ArrayDeque<Entry<T>>> buckets;
+    private final Queue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> onExpired;
+    private final ScheduledExecutorService ticker;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    // O primeiro tick roda tickMs depois da criação, então já corresponde ao slot 1
+    private long tick = 1;
+
+    /**
+     * @param tickMs     resolução do relógio
+     * @param wheelSize  quantidade de slots, arredondada para a próxima potência de 2
+     * @param onExpired  recebe, a cada tick, os itens que venceram (na thread do tick)
+     */
+    public TimingWheel(long tickMs, int wheelSize, Consumer<List<T>> onExpired, String threadName) {
+        this(tickMs, wheelSize, onExpired, System::nanoTime, Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name(threadName).factory()));
+        this.ticker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sem thread própria: quem cria chama {@link #advance()} a cada {@code tickMs} do {@code nanoClock}
+     */
+    TimingWheel(long tickMs, int wheelSize, Consumer<List<T>> onExpired, LongSupplier nanoClock) {
+        this(tickMs, wheelSize, onExpired, nanoClock, null);
+    }
+
+    private TimingWheel(long tickMs, int wheelSize, Consumer<List<T>> onExpired, LongSupplier nanoClock,
+                        ScheduledExecutorService ticker) {
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.onExpired = onExpired;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.ticker = ticker;
+    }
+
+    public void schedule(T item, long delayMs) {
+        long deadline = nanoClock.getAsLong() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+        pending.add(new Entry<>(item, (deadline + tickNanos - 1) / tickNanos));
+    }
+
+    void advance() {
+        try {
+            transferPending();
+
+            List<T> expired = new ArrayList<>();
+            Iterator<Entry<T>> iterator = buckets.get((int) (tick & mask)).iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.rounds <= 0) {
+                    expired.add(entry.item);
+                    iterator.remove();
+                } else {
+                    entry.rounds--;
+                }
+            }
+            tick++;
+
+            if (!expired.isEmpty()) {
+                onExpired.accept(expired);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao processar tick do timing wheel", e);
+        }
+    }
+
+    private void transferPending() {
+        Entry<T> entry;
+        while ((entry = pending.poll()) != null) {
+            long target = Math.max(entry.deadlineTick, tick);
+            entry.rounds = (target - tick) / buckets.size();
+            buckets.get((int) (target & mask)).add(entry);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long deadlineTick;
+        private long rounds;
+
+        private Entry(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+ALTER TABLE tb_emails
+    ADD COLUMN attempts        INT      NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at datetime NULL;
+
+CREATE INDEX idx_emails_status_next_attempt ON tb_emails (status, next_attempt_at);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_emails_status_send_date ON tb_emails (status, send_date);
+CREATE INDEX idx_emails_to_send_date ON tb_emails (email_to, send_date);
+CREATE INDEX idx_emails_from_send_date ON tb_emails (email_from, send_date);
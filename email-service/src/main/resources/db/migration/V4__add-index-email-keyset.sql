@@ -0,0 +1,2 @@
+-- Paginação por cursor em /api/emails/cursor: ORDER BY send_date DESC, id DESC
+CREATE INDEX idx_emails_send_date_id ON tb_emails (send_date, id);
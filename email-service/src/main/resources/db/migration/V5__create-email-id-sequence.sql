@@ -0,0 +1,9 @@
+-- Ids de tb_emails passam a vir do gerador pooled do Hibernate (blocos de 50).
+-- O MySQL não tem SEQUENCE, então o Hibernate usa esta tabela de uma linha no lugar.
+CREATE TABLE tb_emails_seq
+(
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO tb_emails_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM tb_emails;
@@ -0,0 +1,123 @@
+package br.com.juliocesarcoutinho.emailservice.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+class PooledJavaMailSenderTest {
+
+    private static final Session SESSION = Session.getInstance(new Properties());
+
+    private final List<FakeTransport> connections = new ArrayList<>();
+    private int failConnectionNumber = -1;
+    private FakeSender sender;
+
+    @AfterEach
+    void tearDown() {
+        sender.destroy();
+    }
+
+    @Test
+    void rotatesConnectionWhenMaxMessagesIsReachedInsideTheBatch() {
+        sender = new FakeSender(2);
+
+        sender.send(messages(5));
+
+        assertThat(connections).hasSize(3);
+        assertThat(connections).extracting(connection -> connection.sent.size()).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void reconnectFailureOnlyFailsMessagesNotYetAttempted() {
+        sender = new FakeSender(2);
+        failConnectionNumber = 2;
+        MimeMessage[] messages = messages(5);
+
+        MailSendException exception = catchThrowableOfType(MailSendException.class, () -> sender.send(messages));
+
+        assertThat(connections.get(0).sent).containsExactly(messages[0], messages[1]);
+        assertThat(exception.getFailedMessages()).containsOnlyKeys(messages[2], messages[3], messages[4]);
+    }
+
+    @Test
+    void connectFailureBeforeAnySendFailsTheWholeBatch() {
+        sender = new FakeSender(2);
+        failConnectionNumber = 1;
+
+        MailSendException exception = catchThrowableOfType(MailSendException.class, () -> sender.send(messages(3)));
+
+        assertThat(exception.getFailedMessages()).isEmpty();
+        assertThat(exception.getCause()).isInstanceOf(MessagingException.class);
+    }
+
+    private MimeMessage[] messages(int count) {
+        MimeMessage[] messages = new MimeMessage[count];
+        for (int i = 0; i < count; i++) {
+            try {
+                messages[i] = new MimeMessage(SESSION);
+                messages[i].setFrom(new InternetAddress("noreply@manga.system"));
+                messages[i].setRecipient(Message.RecipientType.TO, new InternetAddress("user" + i + "@example.com"));
+                messages[i].setSubject("Mensagem " + i);
+                messages[i].setText("Olá");
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return messages;
+    }
+
+    private class FakeSender extends PooledJavaMailSender {
+
+        FakeSender(int maxMessagesPerConnection) {
+            super(new SmtpPoolSettings(1, 100, 60_000, 60_000, maxMessagesPerConnection, 60_000));
+        }
+
+        @Override
+        protected Transport connectTransport() throws MessagingException {
+            if (connections.size() + 1 == failConnectionNumber) {
+                throw new MessagingException("Conexão recusada");
+            }
+            FakeTransport transport = new FakeTransport();
+            connections.add(transport);
+            return transport;
+        }
+    }
+
+    private static class FakeTransport extends Transport {
+
+        private final List<Message> sent = new ArrayList<>();
+
+        FakeTransport() {
+            super(SESSION, null);
+        }
+
+        @Override
+        public void sendMessage(Message message, Address[] addresses) {
+            sent.add(message);
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
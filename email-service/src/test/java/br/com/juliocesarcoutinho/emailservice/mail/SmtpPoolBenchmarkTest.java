@@ -0,0 +1,199 @@
+package br.com.juliocesarcoutinho.emailservice.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Compara o envio de uma mensagem por chamada (como faz o worker de envio) com e sem o pool,
+ * contra um servidor SMTP mínimo no próprio processo. O atraso no cumprimento simula o custo
+ * do handshake de um relay real; a vazão medida vai para o log e as asserções ficam nas conexões.
+ */
+class SmtpPoolBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpPoolBenchmarkTest.class);
+
+    private static final int MESSAGES = 200;
+    private static final int MAX_MESSAGES_PER_CONNECTION = 100;
+    private static final long GREETING_DELAY_MS = 2;
+
+    private SmtpSink sink;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sink = new SmtpSink(GREETING_DELAY_MS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sink.close();
+    }
+
+    @Test
+    void pooledSenderReusesConnectionsAcrossSends() throws MessagingException {
+        JavaMailSenderImpl unpooled = configure(new JavaMailSenderImpl());
+        // Aquecimento fora da medição, para a primeira rodada não pagar o JIT sozinha
+        sendAll(unpooled);
+        sink.connections.set(0);
+        sink.messages.set(0);
+
+        double unpooledRate = sendAll(unpooled);
+        int unpooledConnections = sink.connections.getAndSet(0);
+        int unpooledDelivered = sink.messages.getAndSet(0);
+
+        PooledJavaMailSender pooled = configure(new PooledJavaMailSender(
+                new SmtpPoolSettings(1, 5_000, 60_000, 10_000, MAX_MESSAGES_PER_CONNECTION, 15_000)));
+        double pooledRate;
+        try {
+            pooledRate = sendAll(pooled);
+        } finally {
+            pooled.destroy();
+        }
+
+        log.info("SMTP sem pool: {} msg/s em {} conexões; com pool: {} msg/s em {} conexões",
+                format(unpooledRate), unpooledConnections, format(pooledRate), sink.connections.get());
+
+        assertThat(unpooledDelivered).isEqualTo(MESSAGES);
+        assertThat(unpooledConnections).isEqualTo(MESSAGES);
+        assertThat(sink.messages.get()).isEqualTo(MESSAGES);
+        assertThat(sink.connections.get()).isEqualTo(MESSAGES / MAX_MESSAGES_PER_CONNECTION);
+    }
+
+    private <T extends JavaMailSenderImpl> T configure(T sender) {
+        sender.setHost("localhost");
+        sender.setPort(sink.port());
+        return sender;
+    }
+
+    /**
+     * @return mensagens por segundo
+     */
+    private double sendAll(JavaMailSenderImpl sender) throws MessagingException {
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            sender.send(message(sender, i));
+        }
+        return MESSAGES / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private MimeMessage message(JavaMailSenderImpl sender, int index) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@example.org");
+        helper.setTo("user" + index + "@example.com");
+        helper.setSubject("Mensagem " + index);
+        helper.setText("<p>Olá</p>", true);
+        return message;
+    }
+
+    private String format(double rate) {
+        return String.format(Locale.ROOT, "%.0f", rate);
+    }
+
+    /**
+     * Servidor SMTP que aceita tudo e descarta as mensagens, contando conexões e mensagens recebidas
+     */
+    private static final class SmtpSink implements AutoCloseable {
+
+        private final ServerSocket server = new ServerSocket(0);
+        private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+        private final long greetingDelayMs;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+
+        private SmtpSink(long greetingDelayMs) throws IOException {
+            this.greetingDelayMs = greetingDelayMs;
+            Thread.ofVirtual().name("smtp-sink").start(this::accept);
+        }
+
+        private int port() {
+            return server.getLocalPort();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    sessions.execute(() -> session(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void session(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+                Thread.sleep(greetingDelayMs);
+                reply(out, "220 sink ESMTP");
+
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() < 4 ? line : line.substring(0, 4).toUpperCase(Locale.ROOT);
+                    switch (command) {
+                        case "EHLO" -> reply(out, "250-sink\r\n250 8BITMIME");
+                        case "DATA" -> {
+                            reply(out, "354 fim com <CRLF>.<CRLF>");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // descarta o conteúdo
+                            }
+                            messages.incrementAndGet();
+                            reply(out, "250 aceito");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 tchau");
+                            return;
+                        }
+                        // HELO, MAIL, RCPT, RSET e NOOP
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // conexão encerrada pelo cliente
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void reply(Writer out, String response) throws IOException {
+            out.write(response + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+            sessions.shutdownNow();
+            try {
+                sessions.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
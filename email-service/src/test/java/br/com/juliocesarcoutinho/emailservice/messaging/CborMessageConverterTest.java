@@ -0,0 +1,38 @@
+package br.com.juliocesarcoutinho.emailservice.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import br.com.juliocesarcoutinho.emailservice.dtos.EmailMessageDTO;
+
+class CborMessageConverterTest {
+
+    private final CborMessageConverter converter = new CborMessageConverter();
+
+    @Test
+    void readsIntoTheListenerParameterType() {
+        Message message = converter.toMessage(welcome(), new MessageProperties());
+        message.getMessageProperties().setInferredArgumentType(EmailMessageDTO.class);
+
+        assertThat(converter.fromMessage(message)).isEqualTo(welcome());
+    }
+
+    @Test
+    void rejectsTypeHeadersOutsideTheServiceDtos() {
+        Message message = converter.toMessage(welcome(), new MessageProperties());
+        message.getMessageProperties().setHeader("__TypeId__", "com.example.Gadget");
+
+        assertThatThrownBy(() -> converter.fromMessage(message))
+                .hasMessageContaining("not in the trusted packages");
+    }
+
+    private EmailMessageDTO welcome() {
+        return new EmailMessageDTO("ana@email.com", "Bem-vinda", "welcome", Map.of("fullname", "Ana"));
+    }
+}
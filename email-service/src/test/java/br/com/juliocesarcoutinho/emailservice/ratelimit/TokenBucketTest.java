@@ -0,0 +1,80 @@
+package br.com.juliocesarcoutinho.emailservice.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    // 10 por segundo: uma permissão a cada 100 ms, rajada de até 5
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private long nowNanos = 5_000_000_000L;
+    private TokenBucket bucket;
+
+    @BeforeEach
+    void setUp() {
+        bucket = new TokenBucket(10, 5, () -> nowNanos);
+    }
+
+    @Test
+    void startsFullAndAllowsTheWholeBurstWithoutWaiting() {
+        assertThat(bucket.availableTokens()).isEqualTo(5.0);
+
+        assertThat(bucket.reserve(5, 0)).isZero();
+        assertThat(bucket.availableTokens()).isZero();
+    }
+
+    @Test
+    void beyondTheBurstReturnsTheWaitOrRejectsWithoutReserving() {
+        bucket.reserve(5, 0);
+
+        assertThat(bucket.reserve(1, 0)).isEqualTo(-1);
+        assertThat(bucket.reserve(2, INTERVAL)).isEqualTo(-1);
+        // As recusas não consumiram nada: a próxima permissão ainda espera só um intervalo
+        assertThat(bucket.reserve(1, INTERVAL)).isEqualTo(INTERVAL);
+        assertThat(bucket.reserve(1, 2 * INTERVAL)).isEqualTo(2 * INTERVAL);
+    }
+
+    @Test
+    void refillsOneTokenPerIntervalUpToTheBurst() {
+        bucket.reserve(5, 0);
+
+        nowNanos += 3 * INTERVAL;
+        assertThat(bucket.availableTokens()).isEqualTo(3.0);
+
+        nowNanos += INTERVAL / 2;
+        assertThat(bucket.availableTokens()).isCloseTo(3.5, within(1e-9));
+
+        nowNanos += TimeUnit.SECONDS.toNanos(60);
+        assertThat(bucket.availableTokens()).isEqualTo(5.0);
+        assertThat(bucket.reserve(6, 0)).isEqualTo(-1);
+        assertThat(bucket.reserve(5, 0)).isZero();
+    }
+
+    @Test
+    void refundReturnsUnusedPermits() {
+        bucket.reserve(5, 0);
+        assertThat(bucket.reserve(2, 2 * INTERVAL)).isEqualTo(2 * INTERVAL);
+
+        bucket.refund(2);
+        bucket.refund(3);
+
+        assertThat(bucket.availableTokens()).isEqualTo(3.0);
+        assertThat(bucket.reserve(3, 0)).isZero();
+    }
+
+    @Test
+    void refundNeverGrowsTheBucketBeyondTheBurst() {
+        bucket.reserve(1, 0);
+        bucket.refund(10);
+
+        assertThat(bucket.availableTokens()).isEqualTo(5.0);
+        assertThat(bucket.reserve(5, 0)).isZero();
+        assertThat(bucket.reserve(1, 0)).isEqualTo(-1);
+    }
+}
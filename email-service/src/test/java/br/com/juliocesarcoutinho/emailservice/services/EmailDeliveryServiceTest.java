@@ -0,0 +1,80 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import br.com.juliocesarcoutinho.emailservice.ratelimit.OutboundRateLimiter;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+class EmailDeliveryServiceTest {
+
+    private static final Session SESSION = Session.getInstance(new Properties());
+
+    private final JavaMailSender emailSender = mock(JavaMailSender.class);
+    private final EmailRetryPolicy retryPolicy = mock(EmailRetryPolicy.class);
+    private final OutboundRateLimiter rateLimiter = mock(OutboundRateLimiter.class);
+    private final EmailDeliveryService deliveryService = new EmailDeliveryService(emailSender, retryPolicy, rateLimiter);
+
+    @Test
+    void acquiresPermitsInChunksNoLargerThanTheBurst() {
+        when(emailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(SESSION));
+        when(rateLimiter.maxPermits("example.com")).thenReturn(2);
+        when(rateLimiter.acquire(eq("example.com"), anyInt())).thenReturn(true);
+        List<Email> emails = emails(5);
+
+        deliveryService.deliverInSession(emails);
+
+        InOrder order = inOrder(rateLimiter);
+        order.verify(rateLimiter, times(2)).acquire("example.com", 2);
+        order.verify(rateLimiter).acquire("example.com", 1);
+        verify(emailSender, times(3)).send(any(MimeMessage[].class));
+        assertThat(emails).extracting(Email::getStatus).containsOnly(StatusEmail.SENT);
+    }
+
+    @Test
+    void throttlesOnlyTheChunksThatDidNotGetPermits() {
+        when(emailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(SESSION));
+        when(rateLimiter.maxPermits("example.com")).thenReturn(2);
+        when(rateLimiter.acquire(eq("example.com"), anyInt())).thenReturn(true, false);
+        List<Email> emails = emails(5);
+
+        deliveryService.deliverInSession(emails);
+
+        verify(emailSender, times(1)).send(any(MimeMessage[].class));
+        assertThat(emails).extracting(Email::getStatus).containsExactly(
+                StatusEmail.SENT, StatusEmail.SENT, StatusEmail.PENDING, StatusEmail.PENDING, StatusEmail.PENDING);
+        assertThat(emails).extracting(Email::getAttempts).containsExactly(1, 1, 0, 0, 0);
+        verify(retryPolicy, times(3)).onFailure(any(Email.class), eq("Limite de envio do domínio excedido"));
+    }
+
+    private List<Email> emails(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Email.builder()
+                        .id((long) i)
+                        .emailFrom("noreply@example.org")
+                        .emailTo("user" + i + "@example.com")
+                        .subject("Assunto")
+                        .text("<p>Olá</p>")
+                        .status(StatusEmail.PENDING)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.juliocesarcoutinho.emailservice.entities.Email;
+import br.com.juliocesarcoutinho.emailservice.enums.StatusEmail;
+import br.com.juliocesarcoutinho.emailservice.repositories.EmailRepository;
+
+class EmailDispatcherTest {
+
+    private static final LocalDateTime QUEUED_LEASE = LocalDateTime.of(2026, 1, 1, 10, 0);
+    private static final LocalDateTime RENEWED_LEASE = LocalDateTime.of(2026, 1, 1, 10, 5);
+
+    private final EmailRepository emailRepository = mock(EmailRepository.class);
+    private final EmailDeliveryService deliveryService = mock(EmailDeliveryService.class);
+    private final EmailRetryPolicy retryPolicy = mock(EmailRetryPolicy.class);
+    private final EmailLogWriter logWriter = mock(EmailLogWriter.class);
+    private final EmailDispatcher dispatcher =
+            new EmailDispatcher(emailRepository, deliveryService, retryPolicy, logWriter, true, 1, 10, 0);
+
+    @Test
+    void renewsLeaseBeforeDelivering() throws InterruptedException {
+        Email email = pendingEmail();
+        when(retryPolicy.leaseUntil()).thenReturn(RENEWED_LEASE);
+        when(emailRepository.renewLease(1L, QUEUED_LEASE, RENEWED_LEASE)).thenReturn(1);
+
+        dispatcher.dispatchAll(List.of(email));
+        dispatcher.shutdown();
+
+        verify(deliveryService).deliver(email);
+        verify(logWriter).recordStatus(email);
+        assertThat(email.getNextAttemptAt()).isEqualTo(RENEWED_LEASE);
+    }
+
+    @Test
+    void skipsDeliveryWhenRetrySchedulerReclaimedTheEmail() throws InterruptedException {
+        Email email = pendingEmail();
+        when(retryPolicy.leaseUntil()).thenReturn(RENEWED_LEASE);
+        when(emailRepository.renewLease(1L, QUEUED_LEASE, RENEWED_LEASE)).thenReturn(0);
+
+        dispatcher.dispatchAll(List.of(email));
+        dispatcher.shutdown();
+
+        verify(deliveryService, never()).deliver(any());
+        verify(logWriter, never()).recordStatus(any());
+    }
+
+    private Email pendingEmail() {
+        return Email.builder()
+                .id(1L)
+                .emailTo("user@example.com")
+                .status(StatusEmail.PENDING)
+                .nextAttemptAt(QUEUED_LEASE)
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.juliocesarcoutinho.emailservice.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class EmailTemplateServiceTest {
+
+    private final EmailTemplateService templateService =
+            new EmailTemplateService(new DefaultResourceLoader(), "classpath:templates/", 8, 5_000);
+
+    @Test
+    void welcomeTemplateEscapesTheUserName() {
+        String html = templateService.render("welcome", Map.of(
+                "name", "<script>alert('x')</script>",
+                "loginUrl", "https://app.example.com/login",
+                "currentYear", 2026));
+
+        assertThat(html)
+                .doesNotContain("<script>")
+                .contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;")
+                .contains("https://app.example.com/login");
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.juliocesarcoutinho.emailservice.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class CompiledTemplateTest {
+
+    @Test
+    void rendersVariables() {
+        CompiledTemplate template = CompiledTemplate.compile("<p>Olá, ${name}! ${ year }</p>");
+
+        assertThat(template.render(Map.of("name", "Maria", "year", 2025))).isEqualTo("<p>Olá, Maria! 2025</p>");
+        assertThat(template.getVariables()).containsExactly("name", "year");
+    }
+
+    @Test
+    void escapesHtmlInValues() {
+        CompiledTemplate template = CompiledTemplate.compile("<h1>Bem-vindo(a), ${name}!</h1>");
+
+        String html = template.render(Map.of("name", "<script>alert('x')</script> & <a href=\"https://evil\">"));
+
+        assertThat(html)
+                .doesNotContain("<script>")
+                .doesNotContain("<a href")
+                .isEqualTo("<h1>Bem-vindo(a), &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; "
+                        + "&lt;a href=&quot;https://evil&quot;&gt;!</h1>");
+    }
+
+    @Test
+    void escapesValuesInsideAttributes() {
+        CompiledTemplate template = CompiledTemplate.compile("<a href=\"${loginUrl}\">Entrar</a>");
+
+        assertThat(template.render(Map.of("loginUrl", "https://manga.system/login?a=1&b=\"x\"")))
+                .isEqualTo("<a href=\"https://manga.system/login?a=1&amp;b=&quot;x&quot;\">Entrar</a>");
+    }
+
+    @Test
+    void rawVariablesAreNotEscaped() {
+        CompiledTemplate template = CompiledTemplate.compile("<div>${!content}</div><p>${name}</p>");
+
+        assertThat(template.render(Map.of("content", "<b>fixo</b>", "name", "<b>usuário</b>")))
+                .isEqualTo("<div><b>fixo</b></div><p>&lt;b&gt;usuário&lt;/b&gt;</p>");
+        assertThat(template.getVariables()).containsExactly("content", "name");
+    }
+
+    @Test
+    void keepsPlaceholdersWithoutValue() {
+        CompiledTemplate template = CompiledTemplate.compile("${name} ${!content} ${missing");
+
+        assertThat(template.render(Map.of())).isEqualTo("${name} ${!content} ${missing");
+        assertThat(template.render(null)).isEqualTo("${name} ${!content} ${missing");
+    }
+
+    @Test
+    void nullValueIsRenderedAsNull() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", null);
+
+        assertThat(CompiledTemplate.compile("Olá, ${name}").render(values)).isEqualTo("Olá, null");
+    }
+}
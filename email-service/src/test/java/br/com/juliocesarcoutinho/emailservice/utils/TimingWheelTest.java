@@ -0,0 +1,101 @@
+package br.com.juliocesarcoutinho.emailservice.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    private final List<String> expired = new ArrayList<>();
+    private final List<Long> expiredAtMs = new ArrayList<>();
+    private long nowNanos = 1_000_000_000L;
+    private TimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, items -> {
+            expired.addAll(items);
+            items.forEach(item -> expiredAtMs.add(elapsedMs()));
+        }, () -> nowNanos);
+    }
+
+    @Test
+    void expiresOnTheFirstTickAtOrAfterTheDeadline() {
+        wheel.schedule("exato", 30);
+        wheel.schedule("arredondado", 25);
+
+        advanceTo(20);
+        assertThat(expired).isEmpty();
+
+        advanceTo(30);
+        assertThat(expired).containsExactlyInAnyOrder("exato", "arredondado");
+        assertThat(expiredAtMs).containsOnly(30L);
+    }
+
+    @Test
+    void itemsBeyondOneTurnWaitTheRemainingRounds() {
+        // 8 slots de 10 ms: uma volta tem 80 ms, então 250 ms caem no slot 1 com 3 voltas pela frente
+        wheel.schedule("varias-voltas", 250);
+        wheel.schedule("mesmo-slot", 10);
+
+        advanceTo(240);
+        assertThat(expired).containsExactly("mesmo-slot");
+
+        advanceTo(250);
+        assertThat(expired).containsExactly("mesmo-slot", "varias-voltas");
+        assertThat(expiredAtMs).containsExactly(10L, 250L);
+    }
+
+    @Test
+    void scheduledAfterStartCountsFromScheduleTime() {
+        advanceTo(70);
+        wheel.schedule("tarde", 95);
+
+        advanceTo(160);
+        assertThat(expired).isEmpty();
+
+        advanceTo(170);
+        assertThat(expired).containsExactly("tarde");
+    }
+
+    @Test
+    void zeroOrNegativeDelayExpiresOnNextTick() {
+        advanceTo(40);
+        wheel.schedule("agora", 0);
+        wheel.schedule("passado", -100);
+
+        advanceTo(50);
+        assertThat(expired).containsExactlyInAnyOrder("agora", "passado");
+    }
+
+    @Test
+    void eachItemExpiresOnlyOnce() {
+        wheel.schedule("uma-vez", 20);
+
+        advanceTo(500);
+
+        assertThat(expired).containsExactly("uma-vez");
+    }
+
+    /**
+     * Avança o relógio tick a tick, como a thread do timing wheel faria
+     */
+    private void advanceTo(long elapsedMs) {
+        while (elapsedMs() < elapsedMs) {
+            nowNanos += TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+            wheel.advance();
+        }
+    }
+
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(nowNanos - 1_000_000_000L);
+    }
+}
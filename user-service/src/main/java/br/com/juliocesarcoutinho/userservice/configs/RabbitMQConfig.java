@@ -1,25 +1,50 @@
 package br.com.juliocesarcoutinho.userservice.configs;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.DelegatingDecompressingPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import br.com.juliocesarcoutinho.userservice.messaging.CborMessageConverter;
+import br.com.juliocesarcoutinho.userservice.messaging.CompressingPostProcessor;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String EXCHANGE_NAME = "manga-system-exchange";
     public static final String WELCOME_EMAIL_QUEUE = "welcome-email-queue";
     public static final String WELCOME_EMAIL_ROUTING_KEY = "welcome-email";
+    public static final String USER_CACHE_EVICTION_ROUTING_KEY = "user-cache-eviction";
+    public static final String ROLE_CACHE_EVICTION_ROUTING_KEY = "role-cache-eviction";
+    public static final String WELCOME_EMAIL_DLQ = WELCOME_EMAIL_QUEUE + ".dlq";
 
+    /**
+     * Mesmos argumentos declarados pelo email-service (que também cria a DLQ); se forem diferentes o broker
+     * recusa a declaração da fila
+     */
     @Bean
     public Queue welcomeEmailQueue() {
-        return new Queue(WELCOME_EMAIL_QUEUE, true);
+        return QueueBuilder.durable(WELCOME_EMAIL_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(WELCOME_EMAIL_DLQ)
+                .build();
     }
 
     @Bean
@@ -34,15 +59,81 @@ public class RabbitMQConfig {
                 .with(WELCOME_EMAIL_ROUTING_KEY);
     }
 
+    /**
+     * Fila exclusiva de cada instância (apagada quando ela desconecta): todas as filas ligadas
+     * com a mesma routing key recebem uma cópia da invalidação de cache
+     */
+    @Bean
+    public Queue userCacheEvictionQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("user-cache-eviction."));
+    }
+
+    @Bean
+    public Binding userCacheEvictionBinding(Queue userCacheEvictionQueue, DirectExchange exchange) {
+        return BindingBuilder.bind(userCacheEvictionQueue)
+                .to(exchange)
+                .with(USER_CACHE_EVICTION_ROUTING_KEY);
+    }
+
+    @Bean
+    public Queue roleCacheEvictionQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("role-cache-eviction."));
+    }
+
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public Binding roleCacheEvictionBinding(Queue roleCacheEvictionQueue, DirectExchange exchange) {
+        return BindingBuilder.bind(roleCacheEvictionQueue)
+                .to(exchange)
+                .with(ROLE_CACHE_EVICTION_ROUTING_KEY);
+    }
+
+    @Value("${app.messaging.format:cbor}")
+    private String messageFormat;
+
+    @Value("${app.messaging.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${app.messaging.compression.min-size:1024}")
+    private int compressionMinSize;
+
+    /**
+     * Publica no formato configurado (CBOR por padrão) e lê tanto CBOR quanto JSON pelo
+     * content-type de cada mensagem, para que mensagens antigas em JSON continuem sendo aceitas
+     */
+    @Bean
+    public MessageConverter messageConverter() {
+        CborMessageConverter cborConverter = new CborMessageConverter();
+        Jackson2JsonMessageConverter jsonConverter = new Jackson2JsonMessageConverter();
+        // Na leitura vale o tipo do parâmetro do listener, não o header __TypeId__
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+        typeMapper.setTrustedPackages("br.com.juliocesarcoutinho.userservice.dtos");
+        jsonConverter.setJavaTypeMapper(typeMapper);
+
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(
+                "json".equalsIgnoreCase(messageFormat) ? jsonConverter : cborConverter);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, jsonConverter);
+        converter.addDelegate(CborMessageConverter.CONTENT_TYPE, cborConverter);
+        return converter;
     }
 
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter());
+        // Mensagens sem fila de destino voltam para o publicador em vez de sumirem no exchange
+        rabbitTemplate.setMandatory(true);
+        if (compressionEnabled) {
+            rabbitTemplate.setBeforePublishPostProcessors(new CompressingPostProcessor(compressionMinSize));
+        }
         return rabbitTemplate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Descomprime mensagens com content-encoding gzip/deflate antes da conversão
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> decompressingContainerCustomizer() {
+        return container -> container.setAfterReceivePostProcessors(new DelegatingDecompressingPostProcessor());
+    }
+}
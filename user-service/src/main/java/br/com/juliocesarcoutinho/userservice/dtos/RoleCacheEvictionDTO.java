@@ -0,0 +1,11 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import java.util.UUID;
+
+/**
+ * Aviso publicado no manga-system-exchange quando uma role é criada, alterada ou excluída,
+ * para que as demais instâncias descartem as roles do cache de segundo nível
+ */
+public record RoleCacheEvictionDTO(
+  UUID id
+) {}
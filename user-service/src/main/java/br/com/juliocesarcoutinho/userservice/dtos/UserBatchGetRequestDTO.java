@@ -0,0 +1,20 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(name = "User Batch Get Request DTO", description = "Ids e e-mails dos usuários buscados de uma vez")
+public record UserBatchGetRequestDTO(
+    @Schema(description = "IDs dos usuários", example = "[\"0190f5b2-7c1e-7a3d-9b4f-2d8e6a1c3f50\"]")
+    @Size(max = 500, message = "No máximo 500 IDs por requisição")
+    List<@NotNull(message = "ID não pode ser nulo") UUID> ids,
+    
+    @Schema(description = "E-mails dos usuários", example = "[\"maria.silva@email.com\"]")
+    @Size(max = 500, message = "No máximo 500 e-mails por requisição")
+    List<@NotBlank(message = "E-mail não pode ser vazio") String> emails
+) {}
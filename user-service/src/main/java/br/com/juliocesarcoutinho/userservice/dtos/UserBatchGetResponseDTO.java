@@ -0,0 +1,11 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "User Batch Get Response DTO", description = "Um resultado por id e por e-mail, na ordem da requisição")
+public record UserBatchGetResponseDTO(
+  List<UserLookupResultDTO> ids,
+  List<UserLookupResultDTO> emails
+) {}
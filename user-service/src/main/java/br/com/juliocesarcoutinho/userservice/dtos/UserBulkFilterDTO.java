@@ -0,0 +1,33 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+
+@Schema(name = "User Bulk Filter DTO", description = "Filtro dos usuários alcançados por uma operação em massa")
+public record UserBulkFilterDTO(
+    @Schema(description = "Somente usuários ativos (true) ou inativos (false)")
+    Boolean active,
+    
+    @Schema(description = "Cadastrados a partir desta data (inclusiva)", example = "2025-01-01T00:00:00")
+    LocalDateTime createdFrom,
+    
+    @Schema(description = "Cadastrados antes desta data (exclusiva)", example = "2025-02-01T00:00:00")
+    LocalDateTime createdTo
+) {
+    
+    @JsonIgnore
+    @AssertTrue(message = "Informe pelo menos um critério no filtro")
+    public boolean isRestricted() {
+        return active != null || createdFrom != null || createdTo != null;
+    }
+    
+    @JsonIgnore
+    @AssertTrue(message = "createdFrom deve ser anterior a createdTo")
+    public boolean isValidPeriod() {
+        return createdFrom == null || createdTo == null || createdFrom.isBefore(createdTo);
+    }
+}
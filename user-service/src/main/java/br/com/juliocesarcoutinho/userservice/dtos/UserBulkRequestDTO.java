@@ -0,0 +1,29 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(name = "User Bulk Request DTO", description = "Usuários de uma operação em massa: uma lista de IDs ou um filtro")
+public record UserBulkRequestDTO(
+    @Schema(description = "IDs dos usuários", example = "[\"0190f5b2-7c1e-7a3d-9b4f-2d8e6a1c3f50\"]")
+    @Size(max = 100000, message = "No máximo 100000 IDs por requisição")
+    List<@NotNull(message = "ID não pode ser nulo") UUID> ids,
+    
+    @Valid
+    UserBulkFilterDTO filter
+) {
+    
+    @JsonIgnore
+    @AssertTrue(message = "Informe ids ou filter, e não os dois")
+    public boolean isSingleSelection() {
+        return (ids == null) != (filter == null);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "User Bulk Result DTO", description = "Resultado de uma operação em massa")
+public record UserBulkResultDTO(
+  @Schema(description = "Usuários efetivamente alterados ou removidos")
+  long affected,
+  long elapsedMs
+) {}
@@ -0,0 +1,14 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aviso publicado no manga-system-exchange para que todas as instâncias descartem
+ * os usuários do cache local (pelos ids e por todos os emails que eles tiveram na alteração).
+ * Operações em lote mandam um único aviso com todos os usuários do lote.
+ */
+public record UserCacheEvictionDTO(
+  List<UUID> ids,
+  List<String> emails
+) {}
@@ -0,0 +1,21 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import br.com.juliocesarcoutinho.userservice.enums.ImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "User Import Result DTO", description = "Resultado de uma linha da importação de usuários")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResultDTO(
+  @Schema(description = "Número da linha no arquivo enviado")
+  long line,
+  String email,
+  ImportStatus status,
+  @Schema(description = "ID do usuário criado")
+  UUID id,
+  @Schema(description = "Motivo da recusa")
+  String message
+) {}
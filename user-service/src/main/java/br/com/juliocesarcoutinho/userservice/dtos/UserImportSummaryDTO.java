@@ -0,0 +1,11 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "User Import Summary DTO", description = "Totais da importação, enviados na última linha da resposta")
+public record UserImportSummaryDTO(
+  long total,
+  long created,
+  long rejected,
+  long elapsedMs
+) {}
@@ -0,0 +1,15 @@
+package br.com.juliocesarcoutinho.userservice.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "User Lookup Result DTO", description = "Resultado da busca de um id ou e-mail")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserLookupResultDTO(
+  @Schema(description = "ID ou e-mail como enviado na requisição")
+  String key,
+  boolean found,
+  @Schema(description = "Usuário encontrado; ausente quando found é false")
+  UserResponseDTO user
+) {}
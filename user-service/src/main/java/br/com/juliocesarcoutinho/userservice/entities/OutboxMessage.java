@@ -0,0 +1,74 @@
+package br.com.juliocesarcoutinho.userservice.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import br.com.juliocesarcoutinho.userservice.enums.OutboxStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mensagem gravada na mesma transação da regra de negócio e publicada depois pelo relay
+ */
+@Entity
+@Table(name = "tb_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    /**
+     * Corpo já convertido pelo MessageConverter, publicado sem nova serialização
+     */
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;
+
+    @Column(length = 50)
+    private String contentEncoding;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * A partir de quando o relay pode publicar a mensagem; adiado com backoff a cada falha
+     */
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+}
@@ -1,6 +1,10 @@
 package br.com.juliocesarcoutinho.userservice.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
+import br.com.juliocesarcoutinho.userservice.utils.UuidV7Generator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +14,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "tb_roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,7 +22,7 @@ import java.util.UUID;
 public class Role {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
     
     @Column(nullable = false, unique = true)
@@ -0,0 +1,11 @@
+package br.com.juliocesarcoutinho.userservice.enums;
+
+/**
+ * Resultado de cada linha da importação de usuários
+ */
+public enum ImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
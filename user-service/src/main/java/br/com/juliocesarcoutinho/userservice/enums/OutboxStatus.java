@@ -0,0 +1,12 @@
+package br.com.juliocesarcoutinho.userservice.enums;
+
+/**
+ * Situação de uma mensagem do outbox
+ */
+public enum OutboxStatus {
+    PENDING,
+    /**
+     * Atingiu o limite de tentativas e não é mais publicada pelo relay
+     */
+    DEAD
+}
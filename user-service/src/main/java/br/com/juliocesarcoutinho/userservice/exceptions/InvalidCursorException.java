@@ -0,0 +1,7 @@
+package br.com.juliocesarcoutinho.userservice.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.juliocesarcoutinho.userservice.exceptions;
+
+public class InvalidExportException extends RuntimeException {
+    public InvalidExportException(String message) {
+        super(message);
+    }
+}
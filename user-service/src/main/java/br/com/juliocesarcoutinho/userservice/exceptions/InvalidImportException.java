@@ -0,0 +1,7 @@
+package br.com.juliocesarcoutinho.userservice.exceptions;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.juliocesarcoutinho.userservice.exceptions;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.juliocesarcoutinho.userservice.listeners;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import br.com.juliocesarcoutinho.userservice.dtos.RoleCacheEvictionDTO;
+import br.com.juliocesarcoutinho.userservice.services.RoleCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recebe os avisos de alteração de roles publicados por qualquer instância do user-service
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleCacheEvictionListener {
+
+    private final RoleCache roleCache;
+
+    @RabbitListener(queues = "#{roleCacheEvictionQueue.name}")
+    public void onEviction(RoleCacheEvictionDTO eviction) {
+        log.debug("Invalidação do cache de roles recebida para a role {}", eviction.id());
+        roleCache.evictLocal();
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.juliocesarcoutinho.userservice.listeners;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserCacheEvictionDTO;
+import br.com.juliocesarcoutinho.userservice.services.UserCache;
+import br.com.juliocesarcoutinho.userservice.services.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recebe as invalidações de cache publicadas por qualquer instância do user-service
+ * (inclusive esta) pela fila exclusiva da instância, e atualiza o índice de busca com o usuário relido do banco
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheEvictionListener {
+
+    private final UserCache userCache;
+    private final UserSearchIndex userSearchIndex;
+
+    @RabbitListener(queues = "#{userCacheEvictionQueue.name}")
+    public void onEviction(UserCacheEvictionDTO eviction) {
+        log.debug("Invalidação de cache recebida para os usuários {}", eviction.ids());
+        userCache.evictLocal(eviction);
+        userSearchIndex.refresh(eviction.ids());
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.juliocesarcoutinho.userservice.messaging;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJackson2MessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+
+/**
+ * Converte mensagens em CBOR, o equivalente binário do JSON: mesmo modelo de dados do Jackson,
+ * sem aspas, chaves repetidas em texto nem números em decimal.
+ * <p>
+ * Não grava o header {@code __TypeId__}: quem consome usa o tipo do parâmetro do listener,
+ * restrito aos DTOs do serviço.
+ */
+public class CborMessageConverter extends AbstractJackson2MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/cbor";
+
+    private static final String TRUSTED_PACKAGE = "br.com.juliocesarcoutinho.userservice.dtos";
+
+    public CborMessageConverter() {
+        super(CBORMapper.builder()
+                        .findAndAddModules()
+                        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .build(),
+                MimeType.valueOf(CONTENT_TYPE), TRUSTED_PACKAGE);
+
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper() {
+            @Override
+            public void fromJavaType(JavaType javaType, MessageProperties properties) {
+                // Sem headers de tipo: o consumidor infere pelo listener
+            }
+        };
+        typeMapper.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+        typeMapper.setTrustedPackages(TRUSTED_PACKAGE);
+        setJavaTypeMapper(typeMapper);
+    }
+
+    /**
+     * A classe base decodifica o corpo como String, o que não serve para um formato binário
+     */
+    @Override
+    public Object fromMessage(Message message, @Nullable Object conversionHint) {
+        MessageProperties properties = message.getMessageProperties();
+        if (properties.getContentType() == null || !properties.getContentType().contains("cbor")) {
+            return super.fromMessage(message, conversionHint);
+        }
+
+        try {
+            JavaType targetType = getJavaTypeMapper().toJavaType(properties);
+            return objectMapper.readValue(message.getBody(), targetType);
+        } catch (IOException e) {
+            throw new MessageConversionException("Falha ao converter mensagem CBOR", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.juliocesarcoutinho.userservice.messaging;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.support.postprocessor.GZipPostProcessor;
+
+/**
+ * Comprime com gzip apenas mensagens a partir de {@code minSize} bytes; abaixo disso
+ * o cabeçalho do gzip custaria mais do que economiza.
+ * O consumidor descomprime pelo {@code content-encoding} com {@code DelegatingDecompressingPostProcessor}.
+ */
+public class CompressingPostProcessor implements MessagePostProcessor {
+
+    private final GZipPostProcessor gzip = new GZipPostProcessor();
+    private final int minSize;
+
+    public CompressingPostProcessor(int minSize) {
+        this.minSize = minSize;
+        // Não altera as propriedades da mensagem original, que pode ser reenviada
+        this.gzip.setCopyProperties(true);
+    }
+
+    @Override
+    public Message postProcessMessage(Message message) throws AmqpException {
+        if (message.getBody().length < minSize) {
+            return message;
+        }
+        return gzip.postProcessMessage(message);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.juliocesarcoutinho.userservice.repositories;
+
+import br.com.juliocesarcoutinho.userservice.entities.OutboxMessage;
+import br.com.juliocesarcoutinho.userservice.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Trava as mensagens PENDING já liberadas para nova tentativa, das mais antigas para as mais novas,
+     * com SKIP LOCKED, para que duas instâncias não publiquem a mesma linha
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT o FROM OutboxMessage o
+            WHERE o.status = :status AND o.nextAttemptAt <= :now
+            ORDER BY o.nextAttemptAt""")
+    List<OutboxMessage> findBatchForUpdate(@Param("status") OutboxStatus status,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+}
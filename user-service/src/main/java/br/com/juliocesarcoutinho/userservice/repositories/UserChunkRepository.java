@@ -0,0 +1,20 @@
+package br.com.juliocesarcoutinho.userservice.repositories;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.entities.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Blocos de usuários em ordem de cadastro para processamento em lote (exportação e operações em massa)
+ */
+public interface UserChunkRepository {
+
+    /**
+     * Até {@code size} usuários que atendem a {@code spec}, ordenados por (created_at, id),
+     * direto no DTO e sem COUNT. O próximo bloco combina o filtro com
+     * {@link br.com.juliocesarcoutinho.userservice.repositories.specifications.UserSpecifications#after}.
+     */
+    List<UserResponseDTO> findChunk(Specification<User> spec, int size);
+}
@@ -1,19 +1,101 @@
 package br.com.juliocesarcoutinho.userservice.repositories;
 
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
 import br.com.juliocesarcoutinho.userservice.entities.User;
+import br.com.juliocesarcoutinho.userservice.repositories.projections.UserCredentials;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserChunkRepository {
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT new br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO(u.id, u.fullname, u.email, u.active, u.createdAt) " +
+           "FROM User u WHERE u.email = :email")
+    Optional<UserResponseDTO> findSummaryByEmail(@Param("email") String email);
+
+    /**
+     * Dados de login em uma única consulta, uma linha por papel, sem carregar as entidades
+     */
+    @Query("SELECT new br.com.juliocesarcoutinho.userservice.repositories.projections.UserCredentials(u.email, u.password, u.active, r.authority) " +
+           "FROM User u LEFT JOIN u.userRoles ur LEFT JOIN ur.role r WHERE u.email = :email")
+    List<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
     
     boolean existsByEmail(String email);
+
+    /**
+     * Ativa ou desativa os usuários em um único UPDATE, sem tocar nos que já estão no estado pedido
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.active = :active, u.updatedAt = :updatedAt WHERE u.id IN :ids AND u.active <> :active")
+    int updateActiveByIdIn(@Param("ids") Collection<UUID> ids,
+                           @Param("active") boolean active,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Remove os usuários em um único DELETE; os papéis devem ser removidos antes
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Quais dos emails informados já estão cadastrados, em uma única consulta
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
     
-    Page<User> findByFullnameContainingIgnoreCase(String name, Pageable pageable);
+    /**
+     * Página de usuários direto no DTO, sem carregar entidades nem os papéis
+     */
+    @Query(value = "SELECT new br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO(u.id, u.fullname, u.email, u.active, u.createdAt) " +
+                   "FROM User u",
+           countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponseDTO> findAllSummaries(Pageable pageable);
+
+    @Query(value = "SELECT new br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO(u.id, u.fullname, u.email, u.active, u.createdAt) " +
+                   "FROM User u WHERE LOWER(u.fullname) LIKE LOWER(CONCAT('%', :name, '%'))",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE LOWER(u.fullname) LIKE LOWER(CONCAT('%', :name, '%'))")
+    Page<UserResponseDTO> findSummariesByName(@Param("name") String name, Pageable pageable);
+
+    /**
+     * Usuários de uma página já ranqueada pelo índice de busca (a ordem fica a cargo de quem chama)
+     */
+    @Query("SELECT new br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO(u.id, u.fullname, u.email, u.active, u.createdAt) " +
+           "FROM User u WHERE u.id IN :ids")
+    List<UserResponseDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT new br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO(u.id, u.fullname, u.email, u.active, u.createdAt) " +
+           "FROM User u WHERE u.email IN :emails")
+    List<UserResponseDTO> findSummariesByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO(u.id, u.fullname, u.email, u.active, u.createdAt) " +
+           "FROM User u ORDER BY u.createdAt, u.id")
+    Slice<UserResponseDTO> findFirstSlice(Pageable pageable);
+
+    /**
+     * Próxima página do keyset (created_at, id), sem OFFSET e sem COUNT
+     */
+    @Query("SELECT new br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO(u.id, u.fullname, u.email, u.active, u.createdAt) " +
+           "FROM User u WHERE u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id) " +
+           "ORDER BY u.createdAt, u.id")
+    Slice<UserResponseDTO> findSliceAfter(@Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") UUID id,
+                                          Pageable pageable);
 }
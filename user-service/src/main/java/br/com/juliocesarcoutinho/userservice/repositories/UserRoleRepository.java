@@ -1,10 +1,14 @@
 package br.com.juliocesarcoutinho.userservice.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.juliocesarcoutinho.userservice.entities.UserRole;
@@ -20,4 +24,8 @@ public interface UserRoleRepository extends JpaRepository<UserRole, UUID> {
     void deleteByUserIdAndRoleId(UUID userId, UUID roleId);
     
     long countByRoleId(UUID roleId);
+
+    @Modifying
+    @Query("DELETE FROM UserRole ur WHERE ur.user.id IN :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<UUID> userIds);
 }
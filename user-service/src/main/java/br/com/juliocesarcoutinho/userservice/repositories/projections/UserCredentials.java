@@ -0,0 +1,12 @@
+package br.com.juliocesarcoutinho.userservice.repositories.projections;
+
+/**
+ * Linha da consulta de autenticação: dados de login do usuário e uma das suas authorities
+ * (null quando o usuário não tem papel)
+ */
+public record UserCredentials(
+    String email,
+    String password,
+    boolean active,
+    String authority
+) {}
@@ -0,0 +1,47 @@
+package br.com.juliocesarcoutinho.userservice.repositories.specifications;
+
+import br.com.juliocesarcoutinho.userservice.entities.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monta os filtros da exportação e das operações em massa apenas com os predicados informados,
+ * para que o banco use o índice (created_at, id) em vez de avaliar {@code :param IS NULL OR ...}.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Filtros opcionais (null = sem filtro); createdTo é exclusivo
+     */
+    public static Specification<User> withFilters(Boolean active, LocalDateTime createdFrom, LocalDateTime createdTo) {
+        List<Specification<User>> specs = new ArrayList<>();
+
+        if (active != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("active"), active));
+        }
+        if (createdFrom != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), createdFrom));
+        }
+        if (createdTo != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), createdTo));
+        }
+
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Usuários depois da chave (created_at, id) do último registro do bloco anterior
+     */
+    public static Specification<User> after(LocalDateTime createdAt, UUID id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.greaterThan(root.get("id"), id)));
+    }
+}
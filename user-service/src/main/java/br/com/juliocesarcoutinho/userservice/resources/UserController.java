@@ -1,10 +1,22 @@
 package br.com.juliocesarcoutinho.userservice.resources;
 
+import br.com.juliocesarcoutinho.userservice.dtos.CursorPageDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBatchGetRequestDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBatchGetResponseDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBulkRequestDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBulkResultDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserRequestDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserUpdateDTO;
 import br.com.juliocesarcoutinho.userservice.resources.docs.UserControllerDoc;
+import br.com.juliocesarcoutinho.userservice.services.UserBulkService;
+import br.com.juliocesarcoutinho.userservice.services.UserExportService;
+import br.com.juliocesarcoutinho.userservice.services.UserImportService;
 import br.com.juliocesarcoutinho.userservice.services.UserService;
+import br.com.juliocesarcoutinho.userservice.utils.UserExportWriter;
+import br.com.juliocesarcoutinho.userservice.utils.UserImportReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,11 +24,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/users")
@@ -25,6 +47,9 @@ import java.util.UUID;
 public class UserController implements UserControllerDoc {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+    private final UserBulkService userBulkService;
 
     @PostMapping
     @Override
@@ -33,6 +58,46 @@ public class UserController implements UserControllerDoc {
         return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUser(userRequestDTO));
     }
     
+    @PostMapping("/import")
+    @Override
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Importação de usuários recebida: {}", request.getContentType());
+        UserImportReader reader = userImportService.open(request.getContentType(), request.getInputStream());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        userImportService.importUsers(reader, response.getOutputStream());
+    }
+    
+    @GetMapping("/export")
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Exportação de usuários solicitada: formato {}, ativo {}, de {} até {}", format, active, createdFrom, createdTo);
+        MediaType mediaType = UserExportWriter.mediaType(format);
+        userExportService.validate(createdFrom, createdTo);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        // O corpo é escrito fora da thread da requisição, depois que os cabeçalhos já foram enviados
+        StreamingResponseBody body = output -> userExportService.export(mediaType, active, createdFrom, createdTo,
+                gzip ? new GZIPOutputStream(output, 8192, true) : output);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType(mediaType, StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + format.trim().toLowerCase(Locale.ROOT))
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
     @GetMapping("/{id}")
     @Override
     public ResponseEntity<UserResponseDTO> getUserById(@PathVariable UUID id) {
@@ -40,6 +105,15 @@ public class UserController implements UserControllerDoc {
         return ResponseEntity.ok(userService.findUserById(id));
     }
     
+    @PostMapping("/batch-get")
+    @Override
+    public ResponseEntity<UserBatchGetResponseDTO> getUsers(@Valid @RequestBody UserBatchGetRequestDTO request) {
+        log.info("Buscando usuários em lote: {} IDs e {} e-mails",
+                request.ids() == null ? 0 : request.ids().size(),
+                request.emails() == null ? 0 : request.emails().size());
+        return ResponseEntity.ok(userService.findUsers(request));
+    }
+    
     @GetMapping("/email/{email}")
     @Override
     public ResponseEntity<UserResponseDTO> getUserByEmail(@PathVariable String email) {
@@ -62,6 +136,15 @@ public class UserController implements UserControllerDoc {
         return ResponseEntity.ok(users);
     }
     
+    @GetMapping("/cursor")
+    @Override
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Listando usuários por cursor com tamanho de página: {}", size);
+        return ResponseEntity.ok(userService.findUsersByCursor(cursor, size));
+    }
+    
     @GetMapping("/search")
     @Override
     public ResponseEntity<Page<UserResponseDTO>> searchUsersByName(
@@ -95,6 +178,27 @@ public class UserController implements UserControllerDoc {
         return ResponseEntity.noContent().build();
     }
     
+    @PatchMapping("/activate")
+    @Override
+    public ResponseEntity<UserBulkResultDTO> activateUsers(@Valid @RequestBody UserBulkRequestDTO request) {
+        log.info("Ativação em massa solicitada: {}", describe(request));
+        return ResponseEntity.ok(userBulkService.activateUsers(request));
+    }
+    
+    @PatchMapping("/deactivate")
+    @Override
+    public ResponseEntity<UserBulkResultDTO> deactivateUsers(@Valid @RequestBody UserBulkRequestDTO request) {
+        log.info("Desativação em massa solicitada: {}", describe(request));
+        return ResponseEntity.ok(userBulkService.deactivateUsers(request));
+    }
+    
+    @PostMapping("/bulk-delete")
+    @Override
+    public ResponseEntity<UserBulkResultDTO> deleteUsers(@Valid @RequestBody UserBulkRequestDTO request) {
+        log.info("Exclusão em massa solicitada: {}", describe(request));
+        return ResponseEntity.ok(userBulkService.deleteUsers(request));
+    }
+    
     @PatchMapping("/{id}/activate")
     @Override
     public ResponseEntity<UserResponseDTO> activateUser(@PathVariable UUID id) {
@@ -108,4 +212,24 @@ public class UserController implements UserControllerDoc {
         log.info("Desativando usuário com ID: {}", id);
         return ResponseEntity.ok(userService.deactivateUser(id));
     }
-}
\ No newline at end of file
+    
+    private static String describe(UserBulkRequestDTO request) {
+        return request.ids() != null ? request.ids().size() + " IDs" : "filtro " + request.filter();
+    }
+    
+    /**
+     * Se o cliente aceita gzip, ignorando "gzip;q=0"
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,11 @@
 package br.com.juliocesarcoutinho.userservice.resources.docs;
 
+import br.com.juliocesarcoutinho.userservice.dtos.CursorPageDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBatchGetRequestDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBatchGetResponseDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBulkRequestDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBulkResultDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserImportResultDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserRequestDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserUpdateDTO;
@@ -10,13 +16,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Tag(name = "Usuários", description = "API para gerenciamento de usuários")
@@ -34,6 +45,48 @@ public interface UserControllerDoc {
     })
     ResponseEntity<UserResponseDTO> createUser(@Valid @RequestBody UserRequestDTO userRequestDTO);
     
+    @Operation(summary = "Importar usuários em massa",
+            description = "Cria usuários a partir de um arquivo NDJSON (um usuário por linha) ou CSV com cabeçalho fullname,email,password, "
+                    + "lido como stream. A resposta é NDJSON com o resultado de cada linha (CREATED, DUPLICATE, INVALID ou FAILED) "
+                    + "e, por último, o resumo da importação; sem o resumo, a importação foi interrompida",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = {
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = UserRequestDTO.class)),
+                    @Content(mediaType = "text/csv", schema = @Schema(type = "string",
+                            example = "fullname,email,password\nMaria Silva,maria.silva@email.com,senha123"))
+            }))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resultado de cada linha seguido do resumo",
+                    content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = UserImportResultDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Formato não suportado ou cabeçalho do CSV inválido")
+    })
+    void importUsers(@Parameter(hidden = true) HttpServletRequest request,
+                     @Parameter(hidden = true) HttpServletResponse response) throws IOException;
+    
+    @Operation(summary = "Exportar usuários",
+            description = "Envia todos os usuários que atendem aos filtros, em ordem de cadastro, como stream NDJSON "
+                    + "(um usuário por linha) ou CSV. A resposta é compactada com gzip quando o cliente envia Accept-Encoding: gzip")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Usuários exportados",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = UserResponseDTO.class)),
+                            @Content(mediaType = "text/csv", schema = @Schema(type = "string",
+                                    example = "id,fullname,email,active,createdAt\n0190f5b2-7c1e-7a3d-9b4f-2d8e6a1c3f50,Maria Silva,maria.silva@email.com,true,2025-01-15T10:30:00"))
+                    }
+            ),
+            @ApiResponse(responseCode = "400", description = "Formato não suportado ou período inválido")
+    })
+    ResponseEntity<StreamingResponseBody> exportUsers(
+            @Parameter(description = "Formato do arquivo: ndjson ou csv") String format,
+            @Parameter(description = "Somente usuários ativos (true) ou inativos (false)") Boolean active,
+            @Parameter(description = "Cadastrados a partir desta data (ISO-8601, inclusiva)") LocalDateTime createdFrom,
+            @Parameter(description = "Cadastrados antes desta data (ISO-8601, exclusiva)") LocalDateTime createdTo,
+            @Parameter(hidden = true) String acceptEncoding);
+    
     @Operation(summary = "Buscar usuário por ID", description = "Retorna um usuário pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(
@@ -46,6 +99,19 @@ public interface UserControllerDoc {
     ResponseEntity<UserResponseDTO> getUserById(
             @Parameter(description = "ID do usuário", required = true) UUID id);
     
+    @Operation(summary = "Buscar vários usuários",
+            description = "Busca até 500 IDs e 500 e-mails em uma única requisição. Cada lista da resposta segue a ordem "
+                    + "da requisição, com found=false para os IDs ou e-mails não encontrados")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resultado de cada ID e e-mail",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserBatchGetResponseDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou IDs/e-mails acima do limite")
+    })
+    ResponseEntity<UserBatchGetResponseDTO> getUsers(@Valid @RequestBody UserBatchGetRequestDTO request);
+    
     @Operation(summary = "Buscar usuário por e-mail", description = "Retorna um usuário pelo seu endereço de e-mail")
     @ApiResponses(value = {
             @ApiResponse(
@@ -69,7 +135,21 @@ public interface UserControllerDoc {
     })
     ResponseEntity<Page<UserResponseDTO>> getAllUsers(@ParameterObject Pageable pageable);
     
-    @Operation(summary = "Buscar usuários por nome", description = "Retorna uma lista paginada de usuários que contenham o texto informado no nome")
+    @Operation(summary = "Listar usuários por cursor", description = "Retorna os usuários por ordem de criação usando paginação por cursor. " +
+            "Envie o nextCursor da resposta anterior para obter a próxima página; não há contagem total")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Página de usuários retornada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    ResponseEntity<CursorPageDTO<UserResponseDTO>> getUsersByCursor(
+            @Parameter(description = "Token nextCursor da página anterior; omita para a primeira página") String cursor,
+            @Parameter(description = "Quantidade de usuários por página") int size);
+    
+    @Operation(summary = "Buscar usuários por nome", description = "Retorna uma lista paginada de usuários cujo nome ou e-mail se pareça com o texto informado, ordenada por relevância. A última palavra vale como prefixo e pequenos erros de digitação são tolerados")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -105,6 +185,44 @@ public interface UserControllerDoc {
     ResponseEntity<Void> deleteUser(
             @Parameter(description = "ID do usuário", required = true) UUID id);
     
+    @Operation(summary = "Ativar usuários em massa",
+            description = "Ativa os usuários de uma lista de IDs (até 100000) ou de um filtro, em blocos. "
+                    + "Usuários já ativos ou inexistentes são ignorados")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Quantidade de usuários ativados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserBulkResultDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Informe ids ou um filtro com pelo menos um critério")
+    })
+    ResponseEntity<UserBulkResultDTO> activateUsers(@Valid @RequestBody UserBulkRequestDTO request);
+    
+    @Operation(summary = "Desativar usuários em massa",
+            description = "Desativa os usuários de uma lista de IDs (até 100000) ou de um filtro, em blocos. "
+                    + "Os tokens dos usuários desativados deixam de ser aceitos")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Quantidade de usuários desativados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserBulkResultDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Informe ids ou um filtro com pelo menos um critério")
+    })
+    ResponseEntity<UserBulkResultDTO> deactivateUsers(@Valid @RequestBody UserBulkRequestDTO request);
+    
+    @Operation(summary = "Excluir usuários em massa",
+            description = "Exclui os usuários de uma lista de IDs (até 100000) ou de um filtro, junto com seus papéis, em blocos")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Quantidade de usuários excluídos",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserBulkResultDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Informe ids ou um filtro com pelo menos um critério")
+    })
+    ResponseEntity<UserBulkResultDTO> deleteUsers(@Valid @RequestBody UserBulkRequestDTO request);
+    
     @Operation(summary = "Ativar um usuário", description = "Ativa um usuário no sistema")
     @ApiResponses(value = {
             @ApiResponse(
@@ -0,0 +1,96 @@
+package br.com.juliocesarcoutinho.userservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista crescente de documentos de um trigrama, gravada como diferenças em varint:
+ * ids próximos ocupam 1 ou 2 bytes em vez dos 4 de um int.
+ */
+final class PostingList {
+
+    private byte[] data = new byte[4];
+    private int length;
+    private int lastDoc = -1;
+    private int size;
+
+    /**
+     * Acrescenta o documento; ids menores ou iguais ao último já gravado são ignorados
+     */
+    void add(int doc) {
+        if (doc <= lastDoc) {
+            return;
+        }
+        int delta = doc - lastDoc;
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length + (data.length >> 1), length + 5));
+        }
+        while ((delta & ~0x7F) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+        lastDoc = doc;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Bytes efetivamente usados, sem a folga do array
+     */
+    int sizeInBytes() {
+        return length;
+    }
+
+    void trim() {
+        if (data.length > length) {
+            data = Arrays.copyOf(data, Math.max(length, 1));
+        }
+    }
+
+    Cursor cursor() {
+        return new Cursor(data, length);
+    }
+
+    /**
+     * Percorre a lista decodificando um documento por vez
+     */
+    static final class Cursor {
+
+        private final byte[] data;
+        private final int length;
+        private int position;
+        private int doc = -1;
+
+        private Cursor(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+
+        /**
+         * @return o próximo documento, ou -1 no fim da lista
+         */
+        int next() {
+            if (position >= length) {
+                doc = -1;
+                return -1;
+            }
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += delta;
+            return doc;
+        }
+
+        int doc() {
+            return doc;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package br.com.juliocesarcoutinho.userservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas em memória, com busca por prefixo tolerante a erros de digitação.
+ * <p>
+ * Cada documento (um UUID e seus textos) recebe um número sequencial, e cada trigrama aponta para a
+ * {@link PostingList} compactada dos documentos que o contêm. Os UUIDs ficam em arrays de long e o
+ * mapa UUID → documento é uma tabela de endereçamento aberto sobre int, sem objetos por usuário.
+ * <p>
+ * Alterar um documento marca a versão antiga como removida e acrescenta uma nova, mantendo as listas
+ * sempre em ordem crescente. Quando os removidos passam dos vivos, o índice é compactado.
+ * <p>
+ * Um documento entra no resultado quando compartilha pelo menos {@code minSimilarity} dos trigramas da
+ * busca; os resultados são ordenados por trigramas em comum, depois pelo texto mais curto.
+ */
+public class TrigramIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int COMPACT_MIN_DELETED = 1024;
+    private static final int TOMBSTONE = -1;
+    // O contador de trigramas em comum por documento é um byte
+    private static final int MAX_QUERY_TRIGRAMS = 255;
+
+    private final double minSimilarity;
+    private final int maxResults;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private long[] mostSigBits = new long[INITIAL_CAPACITY];
+    private long[] leastSigBits = new long[INITIAL_CAPACITY];
+    private long[] fingerprints = new long[INITIAL_CAPACITY];
+    private short[] trigramCounts = new short[INITIAL_CAPACITY];
+    private final BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveCount;
+
+    // UUID -> documento + 1 (0 = livre, TOMBSTONE = removido)
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    private int usedSlots;
+
+    public TrigramIndex(double minSimilarity, int maxResults) {
+        this.minSimilarity = minSimilarity;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Resultado de uma busca: a página de ids em ordem de relevância e o total encontrado
+     * (limitado a {@code maxResults})
+     */
+    public record Hits(List<UUID> ids, long total) {
+
+        static final Hits EMPTY = new Hits(List.of(), 0);
+    }
+
+    /**
+     * Indexa ou reindexa o documento. Se os textos não mudaram, nada é alterado.
+     */
+    public void put(UUID id, String... fields) {
+        long[] trigrams = Trigrams.ofDocument(fields);
+        long fingerprint = fingerprint(trigrams);
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(msb, lsb);
+            if (slot >= 0) {
+                int current = slots[slot] - 1;
+                if (fingerprints[current] == fingerprint && trigramCounts[current] == trigrams.length) {
+                    return;
+                }
+                markDeleted(current);
+            }
+
+            int doc = appendDoc(msb, lsb, fingerprint, trigrams.length);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new PostingList()).add(doc);
+            }
+
+            if (slot >= 0) {
+                slots[slot] = doc + 1;
+            } else {
+                insertSlot(msb, lsb, doc);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true se o documento estava no índice
+     */
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot < 0) {
+                return false;
+            }
+            markDeleted(slots[slot] - 1);
+            slots[slot] = TOMBSTONE;
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos parecidos com o texto e devolve a faixa {@code [offset, offset + limit)}
+     * do ranking
+     */
+    public Hits search(String query, long offset, int limit) {
+        long[] queryTrigrams = Trigrams.ofQuery(query);
+        if (queryTrigrams.length > MAX_QUERY_TRIGRAMS) {
+            queryTrigrams = Arrays.copyOf(queryTrigrams, MAX_QUERY_TRIGRAMS);
+        }
+        if (queryTrigrams.length == 0 || limit <= 0 || offset >= maxResults) {
+            return Hits.EMPTY;
+        }
+        int minShared = Math.max(1, (int) Math.ceil(queryTrigrams.length * minSimilarity));
+        int wanted = (int) Math.min(offset + limit, maxResults);
+
+        lock.readLock().lock();
+        try {
+            // Percorre cada lista em sequência contando, por documento, quantos trigramas da busca ele tem
+            List<PostingList> lists = new ArrayList<>(queryTrigrams.length);
+            for (long trigram : queryTrigrams) {
+                PostingList list = postings.get(trigram);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            if (lists.size() < minShared) {
+                return Hits.EMPTY;
+            }
+
+            byte[] shared = new byte[docCount];
+            for (PostingList list : lists) {
+                PostingList.Cursor cursor = list.cursor();
+                for (int doc = cursor.next(); doc >= 0; doc = cursor.next()) {
+                    shared[doc]++;
+                }
+            }
+
+            PriorityQueue<Long> top = new PriorityQueue<>(wanted + 1);
+            long total = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                int count = shared[doc] & 0xFF;
+                if (count < minShared || deleted.get(doc)) {
+                    continue;
+                }
+                total++;
+                long rank = rank(count, trigramCounts[doc], doc);
+                if (top.size() < wanted) {
+                    top.add(rank);
+                } else if (rank > top.peek()) {
+                    top.poll();
+                    top.add(rank);
+                }
+            }
+
+            long[] ranked = top.stream().mapToLong(Long::longValue).sorted().toArray();
+            List<UUID> ids = new ArrayList<>(limit);
+            for (int i = ranked.length - 1 - (int) offset; i >= 0 && ids.size() < limit; i--) {
+                int doc = rankedDoc(ranked[i]);
+                ids.add(new UUID(mostSigBits[doc], leastSigBits[doc]));
+            }
+            return new Hits(ids, Math.min(total, maxResults));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Memória aproximada ocupada pelo índice, em bytes
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) mostSigBits.length * 26 + (long) slots.length * 4 + deleted.size() / 8;
+            for (PostingList list : postings.values()) {
+                // Entrada do HashMap + Long + PostingList + cabeçalho do array
+                bytes += 32 + 16 + 24 + 16 + list.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Libera a folga dos arrays depois de uma carga grande
+     */
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(PostingList::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int appendDoc(long msb, long lsb, long fingerprint, int trigramCount) {
+        if (docCount == mostSigBits.length) {
+            int capacity = docCount + (docCount >> 1);
+            mostSigBits = Arrays.copyOf(mostSigBits, capacity);
+            leastSigBits = Arrays.copyOf(leastSigBits, capacity);
+            fingerprints = Arrays.copyOf(fingerprints, capacity);
+            trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+        }
+        int doc = docCount++;
+        mostSigBits[doc] = msb;
+        leastSigBits[doc] = lsb;
+        fingerprints[doc] = fingerprint;
+        trigramCounts[doc] = (short) Math.min(trigramCount, Short.MAX_VALUE);
+        liveCount++;
+        return doc;
+    }
+
+    private void markDeleted(int doc) {
+        deleted.set(doc);
+        liveCount--;
+    }
+
+    private int findSlot(long msb, long lsb) {
+        int mask = slots.length - 1;
+        int i = hash(msb, lsb) & mask;
+        while (true) {
+            int value = slots[i];
+            if (value == 0) {
+                return -1;
+            }
+            if (value > 0 && mostSigBits[value - 1] == msb && leastSigBits[value - 1] == lsb) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void insertSlot(long msb, long lsb, int doc) {
+        if ((usedSlots + 1) * 2 > slots.length) {
+            rehash(Math.max(slots.length, Integer.highestOneBit(Math.max(liveCount, 1)) * 4));
+        }
+        int mask = slots.length - 1;
+        int i = hash(msb, lsb) & mask;
+        while (slots[i] > 0) {
+            i = (i + 1) & mask;
+        }
+        if (slots[i] == 0) {
+            usedSlots++;
+        }
+        slots[i] = doc + 1;
+    }
+
+    private void rehash(int capacity) {
+        int[] previous = slots;
+        slots = new int[capacity];
+        usedSlots = 0;
+        int mask = capacity - 1;
+        for (int value : previous) {
+            if (value > 0) {
+                int doc = value - 1;
+                int i = hash(mostSigBits[doc], leastSigBits[doc]) & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+                usedSlots++;
+            }
+        }
+    }
+
+    /**
+     * Renumera os documentos vivos e regrava as listas sem os removidos
+     */
+    private void compactIfNeeded() {
+        int deletedCount = docCount - liveCount;
+        if (deletedCount < COMPACT_MIN_DELETED || deletedCount < liveCount) {
+            return;
+        }
+
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                mostSigBits[next] = mostSigBits[doc];
+                leastSigBits[next] = leastSigBits[doc];
+                fingerprints[next] = fingerprints[doc];
+                trigramCounts[next] = trigramCounts[doc];
+                remap[doc] = next++;
+            }
+        }
+
+        Iterator<Map.Entry<Long, PostingList>> entries = postings.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Long, PostingList> entry = entries.next();
+            PostingList compacted = new PostingList();
+            PostingList.Cursor cursor = entry.getValue().cursor();
+            for (int doc = cursor.next(); doc >= 0; doc = cursor.next()) {
+                if (remap[doc] >= 0) {
+                    compacted.add(remap[doc]);
+                }
+            }
+            if (compacted.size() == 0) {
+                entries.remove();
+            } else {
+                compacted.trim();
+                entry.setValue(compacted);
+            }
+        }
+
+        deleted.clear();
+        docCount = next;
+        liveCount = next;
+
+        slots = new int[Math.max(INITIAL_CAPACITY * 2, Integer.highestOneBit(Math.max(next, 1)) * 4)];
+        usedSlots = 0;
+        for (int doc = 0; doc < next; doc++) {
+            insertSlot(mostSigBits[doc], leastSigBits[doc], doc);
+        }
+    }
+
+    // Mais trigramas em comum primeiro, depois o documento mais curto e, por fim, o mais antigo
+    private static long rank(int shared, int trigramCount, int doc) {
+        return ((long) shared << 47) | ((long) (0xFFFF - trigramCount) << 31) | (Integer.MAX_VALUE - doc);
+    }
+
+    private static int rankedDoc(long rank) {
+        return Integer.MAX_VALUE - (int) (rank & Integer.MAX_VALUE);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long fingerprint(long[] trigrams) {
+        long h = 1125899906842597L;
+        for (long trigram : trigrams) {
+            h = (h ^ trigram) * 0x100000001B3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.juliocesarcoutinho.userservice.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Extrai os trigramas de um texto. O texto é normalizado (minúsculas, sem acentos) e quebrado
+ * em palavras; cada palavra recebe dois espaços antes e um depois, como no pg_trgm, de modo que
+ * "Júlio" gera {@code "  j", " ju", "jul", "uli", "lio", "io "}.
+ * <p>
+ * Os três caracteres são guardados em um long (16 bits cada), ordenados e sem repetição.
+ */
+final class Trigrams {
+
+    private static final long[] EMPTY = new long[0];
+
+    private Trigrams() {
+    }
+
+    /**
+     * Trigramas de um documento: todas as palavras são consideradas completas
+     */
+    static long[] ofDocument(String... fields) {
+        Builder builder = new Builder();
+        for (String field : fields) {
+            collect(field, false, builder);
+        }
+        return builder.toSortedDistinct();
+    }
+
+    /**
+     * Trigramas de uma busca: a última palavra pode estar incompleta (o usuário ainda está digitando),
+     * então ela não recebe o espaço final e funciona como prefixo
+     */
+    static long[] ofQuery(String query) {
+        Builder builder = new Builder();
+        collect(query, true, builder);
+        return builder.toSortedDistinct();
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void collect(String text, boolean lastWordIsPrefix, Builder builder) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = normalize(text);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(normalized.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(normalized.charAt(i))) {
+                i++;
+            }
+            if (start == i) {
+                break;
+            }
+            boolean last = lastWordIsPrefix && !hasWordAfter(normalized, i);
+            addWord(normalized, start, i, !last, builder);
+        }
+    }
+
+    private static boolean hasWordAfter(String text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addWord(String text, int start, int end, boolean complete, Builder builder) {
+        char a = ' ';
+        char b = ' ';
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            builder.add(pack(a, b, c));
+            a = b;
+            b = c;
+        }
+        if (complete) {
+            builder.add(pack(a, b, ' '));
+        }
+    }
+
+    private static long pack(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static final class Builder {
+
+        private long[] values = new long[32];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedDistinct() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            Arrays.sort(values, 0, size);
+            int distinct = 1;
+            for (int i = 1; i < size; i++) {
+                if (values[i] != values[distinct - 1]) {
+                    values[distinct++] = values[i];
+                }
+            }
+            return Arrays.copyOf(values, distinct);
+        }
+    }
+}
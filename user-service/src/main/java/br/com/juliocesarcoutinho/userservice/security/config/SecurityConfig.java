@@ -1,5 +1,6 @@
 package br.com.juliocesarcoutinho.userservice.security.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,12 +11,13 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import br.com.juliocesarcoutinho.userservice.security.crypto.BoundedPasswordEncoder;
 import br.com.juliocesarcoutinho.userservice.security.filter.JwtAuthorizationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -47,9 +49,12 @@ public class SecurityConfig {
                     authorize.requestMatchers(PUBLIC_PATHS).permitAll();
                     
                     // API endpoints with role-based authorization
+                    authorize.requestMatchers(HttpMethod.GET, "/api/users/export").hasRole("ADMIN");
                     authorize.requestMatchers(HttpMethod.GET, "/api/users/**").hasAnyRole("ADMIN", "USER");
+                    authorize.requestMatchers(HttpMethod.POST, "/api/users/batch-get").hasAnyRole("ADMIN", "USER");
                     authorize.requestMatchers(HttpMethod.POST, "/api/users/**").hasRole("ADMIN");
                     authorize.requestMatchers(HttpMethod.PUT, "/api/users/**").hasRole("ADMIN");
+                    authorize.requestMatchers(HttpMethod.PATCH, "/api/users/**").hasRole("ADMIN");
                     authorize.requestMatchers(HttpMethod.DELETE, "/api/users/**").hasRole("ADMIN");
                     
                     // Temporarily allow all endpoints while configuring the auth-service
@@ -63,9 +68,22 @@ public class SecurityConfig {
                 .build();
     }
     
+    /**
+     * BCrypt com custo calibrado na inicialização e hash executado em pool próprio e limitado
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.password.target-hash-ms:250}") long targetHashMs,
+            @Value("${app.security.password.min-strength:10}") int minStrength,
+            @Value("${app.security.password.max-strength:14}") int maxStrength,
+            @Value("${app.security.password.threads:0}") int threads,
+            @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password.timeout-ms:5000}") long timeoutMs) {
+
+        int strength = BoundedPasswordEncoder.calibrateStrength(targetHashMs, minStrength, maxStrength);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, timeoutMs, meterRegistry);
     }
     
     @Bean
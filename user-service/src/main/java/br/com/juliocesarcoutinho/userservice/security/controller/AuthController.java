@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import br.com.juliocesarcoutinho.userservice.security.dto.AuthRequest;
 import br.com.juliocesarcoutinho.userservice.security.dto.TokenValidationRequest;
 import br.com.juliocesarcoutinho.userservice.security.service.TokenService;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -64,13 +65,14 @@ public class AuthController {
     @PostMapping("/validate")
     @Operation(summary = "Valida um token JWT")
     public ResponseEntity<Map<String, Object>> validateToken(@RequestBody TokenValidationRequest request) {
-        boolean valid = tokenService.validateToken(request.getToken());
+        Claims claims = tokenService.verifyToken(request.getToken());
+        boolean valid = claims != null;
         
         Map<String, Object> response = new HashMap<>();
         response.put("valid", valid);
         
         if (valid) {
-            String username = tokenService.extractUsername(request.getToken());
+            String username = claims.getSubject();
             response.put("username", username);
             log.info("Token validado com sucesso para usuário: {}", username);
         } else {
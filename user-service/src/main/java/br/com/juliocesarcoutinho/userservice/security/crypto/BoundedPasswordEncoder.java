@@ -0,0 +1,193 @@
+package br.com.juliocesarcoutinho.userservice.security.crypto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import br.com.juliocesarcoutinho.userservice.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PasswordEncoder BCrypt que executa o hash em um pool próprio e limitado, fora das threads do Tomcat,
+ * para que um pico de logins não consuma a CPU dos demais endpoints.
+ * <p>
+ * Com a fila cheia a chamada é recusada na hora com {@link PasswordHashingBusyException}.
+ * O custo do BCrypt é calibrado na inicialização para ficar próximo de {@code target-hash-ms};
+ * hashes gravados com custo menor são refeitos no próximo login (ver {@link #upgradeEncoding}).
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final int CALIBRATION_STRENGTH = 10;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMs, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().name("password-hash-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hash")
+                .description("Tempo de cálculo do hash BCrypt")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash")
+                .description("Tempo de cálculo do hash BCrypt")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Hashes recusados por fila cheia ou tempo esgotado")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Hashes aguardando uma thread livre")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes em execução")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.strength", () -> strength)
+                .description("Custo BCrypt em uso")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Escolhe o custo BCrypt cujo hash leva aproximadamente {@code targetMs} nesta máquina.
+     * Cada ponto de custo dobra o tempo, então basta medir um custo conhecido e extrapolar.
+     */
+    public static int calibrateStrength(long targetMs, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        probe.encode("calibration");
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double measuredMs = Math.max(best / 1_000_000.0, 0.1);
+        int strength = CALIBRATION_STRENGTH + (int) Math.round(Math.log(targetMs / measuredMs) / Math.log(2));
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+
+        log.info("Custo BCrypt calibrado: {} (custo {} levou {} ms, alvo {} ms)",
+                strength, CALIBRATION_STRENGTH, Math.round(measuredMs), targetMs);
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * Hash com custo menor que o calibrado: o Spring Security refaz o hash após um login válido
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Calcula os hashes de um lote em paralelo no mesmo pool. O lote mantém no máximo uma tarefa
+     * por thread na fila, para não tomar o lugar dos logins; se a fila estiver cheia, espera a
+     * tarefa mais antiga do próprio lote terminar antes de tentar de novo.
+     *
+     * @return os hashes na mesma ordem das senhas
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                Callable<String> task = () -> delegate.encode(rawPassword);
+                Future<String> future = null;
+                while (future == null) {
+                    if (futures.size() - encoded.size() >= window) {
+                        encoded.add(await(futures.get(encoded.size())));
+                    }
+                    try {
+                        future = executor.submit(() -> encodeTimer.recordCallable(task));
+                    } catch (RejectedExecutionException e) {
+                        if (futures.size() == encoded.size()) {
+                            rejected.increment();
+                            throw new PasswordHashingBusyException("Servidor ocupado processando senhas, tente novamente em instantes");
+                        }
+                        encoded.add(await(futures.get(encoded.size())));
+                    }
+                }
+                futures.add(future);
+            }
+            while (encoded.size() < futures.size()) {
+                encoded.add(await(futures.get(encoded.size())));
+            }
+            return encoded;
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private <T> T execute(Callable<T> task, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Servidor ocupado processando senhas, tente novamente em instantes");
+        }
+        return await(future);
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Tempo esgotado aguardando o processamento da senha");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Erro ao processar senha", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Processamento da senha interrompido");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -10,7 +10,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.repositories.UserRepository;
 import br.com.juliocesarcoutinho.userservice.security.service.TokenService;
+import br.com.juliocesarcoutinho.userservice.services.UserCache;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -25,6 +28,8 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
+    private final UserCache userCache;
+    private final UserRepository userRepository;
     
     private static final String BEARER_PREFIX = "Bearer ";
 
@@ -47,9 +52,9 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             // Extrai o token sem o prefixo Bearer
             String token = authorizationHeader.substring(BEARER_PREFIX.length());
             
-            // Valida o token e extrai as claims
-            if (tokenService.validateToken(token)) {
-                Claims claims = tokenService.extractAllClaims(token);
+            // Valida o token e extrai as claims em uma única verificação
+            Claims claims = tokenService.verifyToken(token);
+            if (claims != null && isActive(claims.getSubject())) {
                 String username = claims.getSubject();
                 
                 // Extrai as autoridades do claim "roles"
@@ -76,4 +81,13 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Consulta o usuário pelo cache, que é descartado a cada alteração (inclusive nas demais instâncias),
+     * para que tokens de usuários desativados ou removidos deixem de valer antes de expirar
+     */
+    private boolean isActive(String email) {
+        UserResponseDTO user = userCache.getByEmail(email, key -> userRepository.findSummaryByEmail(key).orElse(null));
+        return user != null && user.active();
+    }
 }
@@ -1,13 +1,10 @@
 package br.com.juliocesarcoutinho.userservice.security.model;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import br.com.juliocesarcoutinho.userservice.entities.User;
 import lombok.Getter;
 @Getter
 public class UserDetailsImpl implements UserDetails {
@@ -19,15 +16,12 @@ public class UserDetailsImpl implements UserDetails {
     private final boolean active;
     private final Collection<? extends GrantedAuthority> authorities;
     
-    public UserDetailsImpl(User user) {
-        this.username = user.getEmail();
-        this.password = user.getPassword();
-        this.active = user.isActive();
-        
-        // Converte os papéis do usuário para GrantedAuthority
-        this.authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getAuthority()))
-                .collect(Collectors.toSet());
+    public UserDetailsImpl(String username, String password, boolean active,
+                           Collection<? extends GrantedAuthority> authorities) {
+        this.username = username;
+        this.password = password;
+        this.active = active;
+        this.authorities = authorities;
     }
 
     @Override
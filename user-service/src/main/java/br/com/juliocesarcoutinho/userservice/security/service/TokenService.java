@@ -17,8 +17,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.charset.StandardCharsets;
@@ -37,6 +39,28 @@ public class TokenService {
     @Value("${app.security.jwt.expiration}")
     private Long jwtExpirationMs;
 
+    @Value("${app.security.jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    @Value("${app.security.jwt.claims-cache.ttl-ms:300000}")
+    private long claimsCacheTtlMs;
+
+    private SecretKey key;
+    private JwtParser parser;
+    private VerifiedClaimsCache claimsCache;
+
+    /**
+     * Monta a chave e o parser uma única vez; ambos são imutáveis e seguros entre threads
+     */
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        claimsCache = new VerifiedClaimsCache(claimsCacheMaxSize, claimsCacheTtlMs);
+    }
+
     /**
      * Gera um token JWT para um usuário
      */
@@ -52,8 +76,6 @@ public class TokenService {
         
         Instant now = Instant.now();
         
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
         return Jwts.builder()
                 .claims(claims)
                 .subject(userDetails.getUsername())
@@ -86,35 +108,38 @@ public class TokenService {
     }
 
     /**
-     * Extrai todas as claims do token
+     * Extrai todas as claims do token, verificando assinatura e expiração.
+     * Tokens já verificados vêm do cache sem novo parse.
      */
     public Claims extractAllClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts
-                .parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = claimsCache.get(token);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = parser.parseSignedClaims(token).getPayload();
+        claimsCache.put(token, claims, System.currentTimeMillis());
+        return claims;
     }
 
     /**
-     * Verifica se o token está expirado
+     * Valida o token e devolve suas claims em uma única verificação
+     *
+     * @return as claims do token, ou null se o token for inválido ou estiver expirado
      */
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = extractExpiration(token);
-        return expiration.before(new Date());
+    public Claims verifyToken(String token) {
+        try {
+            return extractAllClaims(token);
+        } catch (Exception e) {
+            log.error("Erro ao validar token: {}", e.getMessage());
+            return null;
+        }
     }
 
     /**
      * Valida o token JWT
      */
     public Boolean validateToken(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            log.error("Erro ao validar token: {}", e.getMessage());
-            return false;
-        }
+        return verifyToken(token) != null;
     }
 }
@@ -1,37 +1,62 @@
 package br.com.juliocesarcoutinho.userservice.security.service;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import br.com.juliocesarcoutinho.userservice.entities.User;
 import br.com.juliocesarcoutinho.userservice.repositories.UserRepository;
+import br.com.juliocesarcoutinho.userservice.repositories.projections.UserCredentials;
 import br.com.juliocesarcoutinho.userservice.security.model.UserDetailsImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Implementação do UserDetailsService para carregar usuários pelo email
+ * Implementação do UserDetailsService para carregar usuários pelo email.
+ * Usa uma única consulta com join nos papéis, sem carregar as entidades User/UserRole/Role.
+ * Também grava o hash refeito pelo Spring Security quando o custo BCrypt da senha está desatualizado.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("Buscando usuário pelo email: {}", username);
-        
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + username));
-        
-        log.info("Usuário encontrado: {}", user.getEmail());
-        
-        return new UserDetailsImpl(user);
+        List<UserCredentials> rows = userRepository.findCredentialsByEmail(username);
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException("Usuário não encontrado com o email: " + username);
+        }
+
+        UserCredentials credentials = rows.get(0);
+        Set<SimpleGrantedAuthority> authorities = rows.stream()
+                .map(UserCredentials::authority)
+                .filter(Objects::nonNull)
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toSet());
+
+        log.debug("Usuário encontrado: {} ({} papéis)", credentials.email(), authorities.size());
+
+        return new UserDetailsImpl(credentials.email(), credentials.password(), credentials.active(), authorities);
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        log.info("Hash de senha atualizado para o custo atual: {}", user.getUsername());
+
+        return new UserDetailsImpl(user.getUsername(), newPassword, user.isEnabled(), user.getAuthorities());
     }
 }
@@ -0,0 +1,104 @@
+package br.com.juliocesarcoutinho.userservice.security.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Cache das claims de tokens cuja assinatura já foi verificada, para não refazer o HMAC
+ * e o parse do JSON a cada requisição do mesmo token.
+ * <p>
+ * A chave é o SHA-256 do token (o token em si não fica em memória) e cada entrada vence no
+ * menor entre a expiração do token e {@code ttlMs}. O tamanho é limitado pelo Caffeine,
+ * que descarta as entradas vencidas e as menos usadas quando o cache enche.
+ */
+public class VerifiedClaimsCache {
+
+    private final Cache<String, Entry> entries;
+    private final int maxSize;
+    private final long ttlMs;
+
+    public VerifiedClaimsCache(int maxSize, long ttlMs) {
+        this(maxSize, ttlMs, System::nanoTime);
+    }
+
+    VerifiedClaimsCache(int maxSize, long ttlMs, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxSize))
+                .expireAfter(new EntryExpiry())
+                .ticker(nanoClock::getAsLong)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * @return as claims do token, ou null se não estiver no cache ou já tiver vencido
+     */
+    public Claims get(String token) {
+        Entry entry = entries.getIfPresent(digest(token));
+        return entry != null ? entry.claims() : null;
+    }
+
+    public void put(String token, Claims claims, long nowMs) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        long expiresInMs = ttlMs;
+        if (claims.getExpiration() != null) {
+            expiresInMs = Math.min(expiresInMs, claims.getExpiration().getTime() - nowMs);
+        }
+        if (expiresInMs <= 0) {
+            return;
+        }
+
+        entries.put(digest(token), new Entry(claims, TimeUnit.MILLISECONDS.toNanos(expiresInMs)));
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record Entry(Claims claims, long expiresInNanos) {}
+
+    /**
+     * Prazo definido por entrada na gravação; leituras não prolongam a validade
+     */
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.expiresInNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.expiresInNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,12 +2,15 @@ package br.com.juliocesarcoutinho.userservice.services;
 
 import br.com.juliocesarcoutinho.userservice.configs.RabbitMQConfig;
 import br.com.juliocesarcoutinho.userservice.dtos.EmailRequestDTO;
+import br.com.juliocesarcoutinho.userservice.entities.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -15,11 +18,16 @@ import java.util.Map;
 @Slf4j
 public class EmailIntegrationService {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
     
     @Value("${spring.profiles.active}")
     private String activeProfile;
     
+    /**
+     * Registra o email de boas-vindas no outbox, dentro da transação de criação do usuário.
+     * A publicação na fila fica a cargo do {@link OutboxRelay}, fora da requisição.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendWelcomeEmail(String name, String email) {
         // Apenas envia emails em produção
         if (!"prod".equalsIgnoreCase(activeProfile)) {
@@ -27,30 +35,38 @@ public class EmailIntegrationService {
             return;
         }
         
-        try {
-            EmailRequestDTO emailRequest = EmailRequestDTO.builder()
-                    .to(email)
-                    .subject("Bem-vindo ao Manga System!")
-                    .template("welcome")
-                    .variables(Map.of(
-                            "name", name,
-                            "appName", "Manga System",
-                            "loginUrl", "https://manga-system.com/login",
-                            "currentYear", String.valueOf(java.time.Year.now().getValue())
-                    ))
-                    .build();
-            
-            log.info("Enviando mensagem de email para fila: {}", email);
-            
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.EXCHANGE_NAME,
-                    RabbitMQConfig.WELCOME_EMAIL_ROUTING_KEY,
-                    emailRequest
-            );
-            
-            log.info("Mensagem de email enviada para fila com sucesso: {}", email);
-        } catch (Exception e) {
-            log.error("Erro ao enviar mensagem de email para fila: {}. Erro: {}", email, e.getMessage());
+        outboxService.enqueue(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.WELCOME_EMAIL_ROUTING_KEY, welcomeEmail(name, email));
+        
+        log.info("Email de boas-vindas registrado no outbox: {}", email);
+    }
+    
+    /**
+     * Registra os emails de boas-vindas de um lote de usuários (importação) de uma só vez
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendWelcomeEmails(List<User> users) {
+        if (!"prod".equalsIgnoreCase(activeProfile)) {
+            log.info("Emails não enviados em ambiente de desenvolvimento para {} usuários", users.size());
+            return;
         }
+        
+        outboxService.enqueueAll(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.WELCOME_EMAIL_ROUTING_KEY,
+                users.stream().map(user -> welcomeEmail(user.getFullname(), user.getEmail())).toList());
+        
+        log.info("{} emails de boas-vindas registrados no outbox", users.size());
+    }
+    
+    private EmailRequestDTO welcomeEmail(String name, String email) {
+        return EmailRequestDTO.builder()
+                .to(email)
+                .subject("Bem-vindo ao Manga System!")
+                .template("welcome")
+                .variables(Map.of(
+                        "name", name,
+                        "appName", "Manga System",
+                        "loginUrl", "https://manga-system.com/login",
+                        "currentYear", String.valueOf(java.time.Year.now().getValue())
+                ))
+                .build();
     }
 }
@@ -0,0 +1,31 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica periodicamente as mensagens pendentes do outbox, fora da thread das requisições
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:1000}")
+    public void relay() {
+        try {
+            // Lote cheio e todo confirmado indica fila acumulada: continua drenando sem esperar o próximo ciclo
+            int confirmed;
+            do {
+                confirmed = outboxService.relayBatch();
+            } while (confirmed == outboxService.getBatchSize());
+        } catch (Exception e) {
+            log.error("Erro ao publicar mensagens do outbox", e);
+        }
+    }
+}
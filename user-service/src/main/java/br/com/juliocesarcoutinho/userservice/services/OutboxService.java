@@ -0,0 +1,223 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.juliocesarcoutinho.userservice.entities.OutboxMessage;
+import br.com.juliocesarcoutinho.userservice.enums.OutboxStatus;
+import br.com.juliocesarcoutinho.userservice.repositories.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outbox transacional: a mensagem é gravada junto com a regra de negócio e publicada
+ * depois, em lote e com publisher confirms. A linha só é apagada quando o broker confirma.
+ * <p>
+ * Uma mensagem recusada volta para a fila com backoff exponencial ({@code next_attempt_at}), para não
+ * bloquear as mais novas, e fica DEAD ao atingir {@code max-attempts}.
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxMessageRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    public OutboxService(OutboxMessageRepository outboxRepository,
+                         RabbitTemplate rabbitTemplate,
+                         @Value("${app.outbox.relay.batch-size:100}") int batchSize,
+                         @Value("${app.outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                         @Value("${app.outbox.retry.max-attempts:10}") int maxAttempts,
+                         @Value("${app.outbox.retry.base-delay-ms:1000}") long baseDelayMs,
+                         @Value("${app.outbox.retry.max-delay-ms:300000}") long maxDelayMs) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /**
+     * Converte a mensagem com o MessageConverter do RabbitTemplate e grava no outbox.
+     * Precisa ser chamado dentro da transação de quem gera o evento,
+     * para que a mensagem só exista se a transação for confirmada.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String exchange, String routingKey, Object payload) {
+        outboxRepository.save(toOutboxMessage(exchange, routingKey, payload, LocalDateTime.now()));
+    }
+
+    /**
+     * Grava várias mensagens de uma vez; com hibernate.jdbc.batch_size os inserts saem em lote
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(String exchange, String routingKey, List<?> payloads) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.saveAll(payloads.stream()
+                .map(payload -> toOutboxMessage(exchange, routingKey, payload, now))
+                .toList());
+    }
+
+    /**
+     * Publica um lote de mensagens e espera as confirmações do broker.
+     * Mensagens confirmadas são apagadas; as demais têm a tentativa registrada e são adiadas pelo backoff.
+     *
+     * @return quantidade de mensagens confirmadas pelo broker
+     */
+    @Transactional
+    public int relayBatch() {
+        List<OutboxMessage> batch = outboxRepository.findBatchForUpdate(OutboxStatus.PENDING, LocalDateTime.now(),
+                PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<OutboxMessage, CorrelationData> published = new LinkedHashMap<>();
+        for (OutboxMessage outboxMessage : batch) {
+            CorrelationData correlation = new CorrelationData(outboxMessage.getId().toString());
+            try {
+                rabbitTemplate.send(outboxMessage.getExchange(), outboxMessage.getRoutingKey(),
+                        toAmqpMessage(outboxMessage), correlation);
+                published.put(outboxMessage, correlation);
+            } catch (AmqpConnectException e) {
+                // Broker indisponível: não é culpa da mensagem, então não conta tentativa; o lote fica para a próxima rodada
+                log.warn("Falha ao conectar no broker para publicar o outbox: {}", e.getMessage());
+                break;
+            } catch (AmqpException e) {
+                markFailed(outboxMessage, e.getMessage());
+                log.warn("Falha ao publicar mensagem do outbox: {}", e.getMessage());
+                break;
+            }
+        }
+
+        List<UUID> confirmed = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        published.forEach((outboxMessage, correlation) -> {
+            String error = awaitConfirm(correlation, deadline);
+            if (error == null) {
+                confirmed.add(outboxMessage.getId());
+            } else {
+                markFailed(outboxMessage, error);
+            }
+        });
+
+        outboxRepository.deleteAllByIdInBatch(confirmed);
+        if (confirmed.size() < batch.size()) {
+            log.warn("Outbox: {} de {} mensagens confirmadas pelo broker", confirmed.size(), batch.size());
+        } else {
+            log.debug("Outbox: {} mensagens publicadas e confirmadas", confirmed.size());
+        }
+
+        return confirmed.size();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return null quando o broker confirmou e roteou a mensagem, senão o motivo da falha
+     */
+    private String awaitConfirm(CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                return "Mensagem recusada pelo broker: " + confirm.getReason();
+            }
+            if (correlation.getReturned() != null) {
+                return "Mensagem não roteada: " + correlation.getReturned().getReplyText();
+            }
+            return null;
+        } catch (TimeoutException e) {
+            return "Tempo esgotado aguardando confirmação do broker";
+        } catch (ExecutionException e) {
+            return e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Publicação interrompida";
+        }
+    }
+
+    /**
+     * Registra a falha: adia a próxima tentativa ou marca a mensagem como DEAD
+     */
+    private void markFailed(OutboxMessage outboxMessage, String error) {
+        int attempts = outboxMessage.getAttempts() + 1;
+        outboxMessage.setAttempts(attempts);
+        outboxMessage.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error);
+
+        if (attempts >= maxAttempts) {
+            outboxMessage.setStatus(OutboxStatus.DEAD);
+            log.error("Mensagem {} do outbox ({}) descartada após {} tentativas: {}", outboxMessage.getId(),
+                    outboxMessage.getRoutingKey(), attempts, error);
+            return;
+        }
+        outboxMessage.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffMs(attempts) * 1_000_000L));
+    }
+
+    /**
+     * Metade fixa e metade aleatória do atraso exponencial, para espalhar as novas tentativas
+     */
+    private long backoffMs(int attempts) {
+        int exponent = Math.min(attempts - 1, 30);
+        long delay = Math.min(maxDelayMs, baseDelayMs << exponent);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private OutboxMessage toOutboxMessage(String exchange, String routingKey, Object payload, LocalDateTime createdAt) {
+        Message message = rabbitTemplate.getMessageConverter().toMessage(payload, new MessageProperties());
+
+        return OutboxMessage.builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .payload(message.getBody())
+                .contentType(message.getMessageProperties().getContentType())
+                .contentEncoding(message.getMessageProperties().getContentEncoding())
+                .createdAt(createdAt)
+                .nextAttemptAt(createdAt)
+                .build();
+    }
+
+    private Message toAmqpMessage(OutboxMessage outboxMessage) {
+        return MessageBuilder.withBody(outboxMessage.getPayload())
+                .setContentType(outboxMessage.getContentType())
+                .setContentEncoding(outboxMessage.getContentEncoding())
+                .setMessageId(outboxMessage.getId().toString())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.juliocesarcoutinho.userservice.configs.RabbitMQConfig;
+import br.com.juliocesarcoutinho.userservice.dtos.RoleCacheEvictionDTO;
+import br.com.juliocesarcoutinho.userservice.entities.Role;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Mantém as roles do cache de segundo nível coerentes entre instâncias.
+ * O aviso vai para o outbox na mesma transação da alteração, então nenhuma requisição espera pelo broker;
+ * cada instância, ao recebê-lo, descarta a região inteira de Role (poucas linhas) e as consultas em cache.
+ */
+@Component
+public class RoleCache {
+
+    private final OutboxService outboxService;
+    private final SessionFactory sessionFactory;
+
+    public RoleCache(OutboxService outboxService, EntityManagerFactory entityManagerFactory) {
+        this.outboxService = outboxService;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Grava o aviso às demais instâncias no outbox e descarta a região local depois que a transação atual
+     * for confirmada. Precisa ser chamado dentro da transação da alteração.
+     */
+    public void evictAfterCommit(UUID id) {
+        outboxService.enqueue(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ROLE_CACHE_EVICTION_ROUTING_KEY,
+                new RoleCacheEvictionDTO(id));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictLocal();
+            }
+        });
+    }
+
+    public void evictLocal() {
+        sessionFactory.getCache().evictEntityData(Role.class);
+        sessionFactory.getCache().evictDefaultQueryRegion();
+    }
+}
@@ -27,6 +27,7 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
+    private final RoleCache roleCache;
     
     /**
      * Inicializa as roles padrão do sistema
@@ -61,6 +62,7 @@ public class RoleService {
                 .build();
                 
         Role savedRole = roleRepository.save(role);
+        roleCache.evictAfterCommit(savedRole.getId());
         log.info("Nova role criada: {}", savedRole.getAuthority());
         
         return toResponseDTO(savedRole);
@@ -116,6 +118,7 @@ public class RoleService {
         role.setAuthority(roleRequestDTO.authority());
         
         Role updatedRole = roleRepository.save(role);
+        roleCache.evictAfterCommit(id);
         log.info("Role atualizada: {}", updatedRole.getAuthority());
         
         return toResponseDTO(updatedRole);
@@ -135,6 +138,7 @@ public class RoleService {
         }
         
         roleRepository.delete(role);
+        roleCache.evictAfterCommit(id);
         log.info("Role excluída: {}", role.getAuthority());
     }
     
@@ -148,7 +152,9 @@ public class RoleService {
                     Role newRole = Role.builder()
                             .authority(authority)
                             .build();
-                    return roleRepository.save(newRole);
+                    Role savedRole = roleRepository.save(newRole);
+                    roleCache.evictAfterCommit(savedRole.getId());
+                    return savedRole;
                 });
     }
     
@@ -0,0 +1,113 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserBulkFilterDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBulkRequestDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBulkResultDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.entities.User;
+import br.com.juliocesarcoutinho.userservice.repositories.UserRepository;
+import br.com.juliocesarcoutinho.userservice.repositories.specifications.UserSpecifications;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ativação, desativação e exclusão de muitos usuários de uma vez, por lista de ids ou por filtro.
+ * <p>
+ * Os usuários são lidos em blocos de {@code chunk-size} (os ids em fatias, o filtro pelo keyset
+ * created_at, id) e cada bloco é alterado em uma transação própria com UPDATE/DELETE por IN, sem
+ * carregar entidades. Cada bloco descarta o cache e avisa as demais instâncias com um único aviso;
+ * como o filtro de autenticação confere se o usuário está ativo, os tokens dos desativados ou
+ * removidos deixam de valer assim que o aviso chega.
+ */
+@Service
+@Slf4j
+public class UserBulkService {
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final int chunkSize;
+
+    public UserBulkService(UserService userService,
+                           UserRepository userRepository,
+                           @Value("${app.users.bulk.chunk-size:1000}") int chunkSize) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    public UserBulkResultDTO activateUsers(UserBulkRequestDTO request) {
+        return run("ativação", request, Boolean.FALSE, users -> userService.setActive(users, true));
+    }
+
+    public UserBulkResultDTO deactivateUsers(UserBulkRequestDTO request) {
+        return run("desativação", request, Boolean.TRUE, users -> userService.setActive(users, false));
+    }
+
+    public UserBulkResultDTO deleteUsers(UserBulkRequestDTO request) {
+        return run("exclusão", request, null, userService::deleteUsers);
+    }
+
+    /**
+     * @param pendingState estado dos usuários que ainda precisam ser alterados (null = todos)
+     * @param action       altera um bloco e devolve quantos foram afetados
+     */
+    private UserBulkResultDTO run(String operation, UserBulkRequestDTO request, Boolean pendingState,
+                                  ToIntFunction<List<UserResponseDTO>> action) {
+        long start = System.currentTimeMillis();
+        long affected = request.ids() != null
+                ? runByIds(request.ids().stream().distinct().toList(), pendingState, action)
+                : runByFilter(request.filter(), pendingState, action);
+
+        UserBulkResultDTO result = new UserBulkResultDTO(affected, System.currentTimeMillis() - start);
+        log.info("Operação em massa de {} concluída: {} usuários em {} ms", operation, affected, result.elapsedMs());
+        return result;
+    }
+
+    private long runByIds(List<UUID> ids, Boolean pendingState, ToIntFunction<List<UserResponseDTO>> action) {
+        long affected = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UserResponseDTO> users = userRepository.findSummariesByIdIn(ids.subList(from, Math.min(from + chunkSize, ids.size())))
+                    .stream()
+                    .filter(user -> pendingState == null || user.active() == pendingState)
+                    .toList();
+            if (!users.isEmpty()) {
+                affected += action.applyAsInt(users);
+            }
+        }
+        return affected;
+    }
+
+    private long runByFilter(UserBulkFilterDTO filter, Boolean pendingState, ToIntFunction<List<UserResponseDTO>> action) {
+        Boolean active = filter.active();
+        if (pendingState != null) {
+            if (active != null && !active.equals(pendingState)) {
+                // Ex.: desativar quem já está inativo
+                return 0;
+            }
+            active = pendingState;
+        }
+        LocalDateTime createdFrom = filter.createdFrom();
+        LocalDateTime createdTo = filter.createdTo();
+
+        long affected = 0;
+        Specification<User> spec = UserSpecifications.withFilters(active, createdFrom, createdTo);
+        List<UserResponseDTO> users = userRepository.findChunk(spec, chunkSize);
+        while (!users.isEmpty()) {
+            affected += action.applyAsInt(users);
+            if (users.size() < chunkSize) {
+                break;
+            }
+            UserResponseDTO last = users.get(users.size() - 1);
+            users = userRepository.findChunk(spec.and(UserSpecifications.after(last.createdAt(), last.id())), chunkSize);
+        }
+        return affected;
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.juliocesarcoutinho.userservice.configs.RabbitMQConfig;
+import br.com.juliocesarcoutinho.userservice.dtos.UserCacheEvictionDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache local (Caffeine) dos usuários consultados por id e por email.
+ * <p>
+ * Alterações descartam as entradas depois do commit e avisam as demais instâncias pelo
+ * manga-system-exchange. O aviso vai para o outbox na mesma transação, então nenhuma requisição
+ * espera pelo broker; as outras instâncias ficam com a versão antiga até o relay publicá-lo.
+ * <p>
+ * As chaves por email ficam em minúsculas ({@link Locale#ROOT}), como o banco compara os emails;
+ * assim "Ana@x.com" e "ana@x.com" são a mesma entrada, inclusive para a invalidação.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    private final OutboxService outboxService;
+    private final Cache<UUID, UserResponseDTO> byId;
+    private final Cache<String, UserResponseDTO> byEmail;
+
+    public UserCache(OutboxService outboxService,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.users.cache.max-size:10000}") long maxSize,
+                     @Value("${app.users.cache.ttl-ms:600000}") long ttlMs) {
+        this.outboxService = outboxService;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.by-email");
+    }
+
+    public UserResponseDTO getById(UUID id, Function<UUID, UserResponseDTO> loader) {
+        return byId.get(id, loader);
+    }
+
+    /**
+     * O {@code loader} recebe o email como foi pedido
+     */
+    public UserResponseDTO getByEmail(String email, Function<String, UserResponseDTO> loader) {
+        return byEmail.get(emailKey(email), key -> loader.apply(email));
+    }
+
+    /**
+     * Busca vários usuários por id; os que não estão no cache são carregados de uma vez pelo {@code loader}.
+     * Ids que o {@code loader} não devolve ficam fora do resultado e não são guardados.
+     */
+    public Map<UUID, UserResponseDTO> getAllById(Collection<UUID> ids,
+                                                 Function<Set<? extends UUID>, Map<UUID, UserResponseDTO>> loader) {
+        return byId.getAll(ids, loader);
+    }
+
+    /**
+     * Mesmo que {@link #getAllById}, por email. O {@code loader} recebe e devolve os emails como foram pedidos,
+     * e o resultado também é indexado por eles.
+     */
+    public Map<String, UserResponseDTO> getAllByEmail(Collection<String> emails,
+                                                      Function<Set<? extends String>, Map<String, UserResponseDTO>> loader) {
+        Map<String, String> requested = new HashMap<>();
+        emails.forEach(email -> requested.putIfAbsent(emailKey(email), email));
+
+        Map<String, UserResponseDTO> cached = byEmail.getAll(requested.keySet(), missing -> {
+            Set<String> toLoad = missing.stream().map(requested::get).collect(Collectors.toSet());
+            Map<String, UserResponseDTO> loaded = new HashMap<>();
+            loader.apply(toLoad).forEach((email, user) -> loaded.put(emailKey(email), user));
+            return loaded;
+        });
+
+        Map<String, UserResponseDTO> users = new HashMap<>();
+        for (String email : emails) {
+            UserResponseDTO user = cached.get(emailKey(email));
+            if (user != null) {
+                users.put(email, user);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Descarta o usuário depois que a transação atual for confirmada e grava o aviso às demais instâncias
+     * no outbox. Precisa ser chamado dentro da transação da alteração.
+     * Recebe todos os emails envolvidos, inclusive o anterior a uma troca.
+     */
+    public void evictAfterCommit(UUID id, String... emails) {
+        evictAllAfterCommit(List.of(id), Arrays.asList(emails));
+    }
+
+    /**
+     * Mesmo que {@link #evictAfterCommit}, para um lote de usuários em um único aviso
+     */
+    public void evictAllAfterCommit(Collection<UUID> ids, Collection<String> emails) {
+        UserCacheEvictionDTO eviction = new UserCacheEvictionDTO(List.copyOf(ids),
+                emails.stream().filter(Objects::nonNull).distinct().toList());
+
+        outboxService.enqueue(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.USER_CACHE_EVICTION_ROUTING_KEY, eviction);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictLocal(eviction);
+            }
+        });
+    }
+
+    public void evictLocal(UserCacheEvictionDTO eviction) {
+        List<UUID> ids = eviction.ids();
+        if (ids != null) {
+            byId.invalidateAll(ids);
+        }
+        List<String> emails = eviction.emails();
+        if (emails != null) {
+            byEmail.invalidateAll(emails.stream().map(UserCache::emailKey).toList());
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.entities.User;
+import br.com.juliocesarcoutinho.userservice.exceptions.InvalidExportException;
+import br.com.juliocesarcoutinho.userservice.repositories.UserRepository;
+import br.com.juliocesarcoutinho.userservice.repositories.specifications.UserSpecifications;
+import br.com.juliocesarcoutinho.userservice.utils.UserExportWriter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportação de usuários como stream, para auditoria e análises.
+ * <p>
+ * Os usuários são lidos em blocos de {@code chunk-size} pelo keyset (created_at, id), cada bloco em uma
+ * consulta curta e sem COUNT, e escritos na resposta antes de buscar o próximo. A memória usada depende
+ * do tamanho do bloco e não da quantidade de usuários, e nenhuma transação fica aberta durante o envio.
+ */
+@Service
+@Slf4j
+public class UserExportService {
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public UserExportService(UserRepository userRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${app.users.export.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Confere o período pedido; chamado antes de começar a responder para que ainda possa virar um 400
+     */
+    public void validate(LocalDateTime createdFrom, LocalDateTime createdTo) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new InvalidExportException("createdFrom deve ser anterior a createdTo");
+        }
+    }
+
+    /**
+     * Escreve em {@code output} os usuários que atendem aos filtros (null = sem filtro), em ordem de
+     * cadastro, e fecha o {@code output} no final
+     *
+     * @return quantidade de usuários exportados
+     */
+    public long export(MediaType mediaType, Boolean active, LocalDateTime createdFrom, LocalDateTime createdTo,
+                       OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        Specification<User> filter = UserSpecifications.withFilters(active, createdFrom, createdTo);
+
+        try (UserExportWriter writer = UserExportWriter.open(mediaType, output, objectMapper)) {
+            List<UserResponseDTO> users = userRepository.findChunk(filter, chunkSize);
+            while (!users.isEmpty()) {
+                for (UserResponseDTO user : users) {
+                    writer.write(user);
+                }
+                writer.flush();
+                total += users.size();
+                if (users.size() < chunkSize) {
+                    break;
+                }
+                UserResponseDTO last = users.get(users.size() - 1);
+                users = userRepository.findChunk(filter.and(UserSpecifications.after(last.createdAt(), last.id())), chunkSize);
+            }
+        }
+
+        log.info("Exportação concluída: {} usuários em {} ms", total, System.currentTimeMillis() - start);
+        return total;
+    }
+}
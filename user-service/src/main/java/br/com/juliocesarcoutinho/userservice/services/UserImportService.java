@@ -0,0 +1,237 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserImportResultDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserImportSummaryDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserRequestDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.entities.User;
+import br.com.juliocesarcoutinho.userservice.enums.ImportStatus;
+import br.com.juliocesarcoutinho.userservice.exceptions.PasswordHashingBusyException;
+import br.com.juliocesarcoutinho.userservice.repositories.UserRepository;
+import br.com.juliocesarcoutinho.userservice.security.crypto.BoundedPasswordEncoder;
+import br.com.juliocesarcoutinho.userservice.utils.UserImportReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importação de usuários em massa a partir de um arquivo NDJSON ou CSV enviado como stream.
+ * <p>
+ * O arquivo é processado em lotes de {@code batch-size} linhas: validação, uma consulta IN para os
+ * emails já cadastrados, hash das senhas em paralelo no pool do BCrypt e inserts em lote JDBC em uma
+ * transação por lote. O resultado de cada linha é escrito em NDJSON assim que o lote termina, então
+ * a memória usada depende do tamanho do lote e não do arquivo.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    public UserImportService(UserService userService,
+                             UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             @Value("${app.users.import.batch-size:500}") int batchSize,
+                             @Value("${app.users.import.max-line-length:8192}") int maxLineLength) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Abre o arquivo conferindo o formato (e o cabeçalho, no CSV); chamado antes de começar a responder
+     * para que um arquivo inválido ainda possa virar um 400
+     */
+    public UserImportReader open(String contentType, InputStream input) throws IOException {
+        return UserImportReader.open(contentType, input, maxLineLength, objectMapper);
+    }
+
+    /**
+     * Lê o arquivo e escreve em {@code output} uma linha de resultado por linha importada, seguida do resumo
+     */
+    public UserImportSummaryDTO importUsers(UserImportReader reader, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        long created = 0;
+
+        List<UserImportReader.Row> batch = new ArrayList<>(batchSize);
+        UserImportReader.Row row;
+        do {
+            row = reader.next();
+            if (row != null) {
+                batch.add(row);
+            }
+            if (batch.size() == batchSize || (row == null && !batch.isEmpty())) {
+                for (UserImportResultDTO result : importBatch(batch)) {
+                    write(output, result);
+                    total++;
+                    if (result.status() == ImportStatus.CREATED) {
+                        created++;
+                    }
+                }
+                output.flush();
+                batch.clear();
+            }
+        } while (row != null);
+
+        UserImportSummaryDTO summary = new UserImportSummaryDTO(total, created, total - created, System.currentTimeMillis() - start);
+        write(output, summary);
+        output.flush();
+        log.info("Importação concluída: {} linhas, {} usuários criados em {} ms", total, created, summary.elapsedMs());
+        return summary;
+    }
+
+    private UserImportResultDTO[] importBatch(List<UserImportReader.Row> rows) {
+        UserImportResultDTO[] results = new UserImportResultDTO[rows.size()];
+
+        // Validação e emails repetidos dentro do próprio lote
+        List<Integer> pending = new ArrayList<>(rows.size());
+        Set<String> emailsInBatch = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportReader.Row row = rows.get(i);
+            UserRequestDTO user = row.user();
+            if (row.error() != null) {
+                results[i] = result(row, ImportStatus.INVALID, row.error());
+                continue;
+            }
+            String violations = validate(user);
+            if (violations != null) {
+                results[i] = result(row, ImportStatus.INVALID, violations);
+            } else if (!emailsInBatch.add(user.email().toLowerCase(Locale.ROOT))) {
+                results[i] = result(row, ImportStatus.DUPLICATE, "E-mail repetido no arquivo");
+            } else {
+                pending.add(i);
+            }
+        }
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        // Emails já cadastrados, em uma única consulta
+        Set<String> existing = userRepository.findExistingEmails(pending.stream()
+                        .map(i -> rows.get(i).user().email())
+                        .toList())
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        List<Integer> accepted = new ArrayList<>(pending.size());
+        for (int i : pending) {
+            UserImportReader.Row row = rows.get(i);
+            if (existing.contains(row.user().email().toLowerCase(Locale.ROOT))) {
+                results[i] = result(row, ImportStatus.DUPLICATE, "Usuário com este e-mail já existe");
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = encodeAll(accepted.stream().map(i -> rows.get(i).user().password()).toList());
+        } catch (PasswordHashingBusyException e) {
+            for (int i : accepted) {
+                results[i] = result(rows.get(i), ImportStatus.FAILED, e.getMessage());
+            }
+            return results;
+        }
+
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int j = 0; j < accepted.size(); j++) {
+            UserRequestDTO user = rows.get(accepted.get(j)).user();
+            users.add(User.builder()
+                    .fullname(user.fullname())
+                    .email(user.email())
+                    .password(hashes.get(j))
+                    .build());
+        }
+
+        try {
+            List<UserResponseDTO> saved = userService.createUsers(users);
+            for (int j = 0; j < accepted.size(); j++) {
+                results[accepted.get(j)] = created(rows.get(accepted.get(j)), saved.get(j));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Outro cadastro usou um dos emails depois da consulta: refaz o lote um a um para achar qual
+            log.warn("Lote da importação recusado pelo banco, gravando linha a linha: {}", e.getMostSpecificCause().getMessage());
+            for (int j = 0; j < accepted.size(); j++) {
+                UserImportReader.Row row = rows.get(accepted.get(j));
+                User user = users.get(j);
+                user.setId(null);
+                try {
+                    results[accepted.get(j)] = created(row, userService.createUsers(List.of(user)).get(0));
+                } catch (DataIntegrityViolationException duplicate) {
+                    results[accepted.get(j)] = result(row, ImportStatus.DUPLICATE, "Usuário com este e-mail já existe");
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<String> encodeAll(List<String> passwords) {
+        if (passwordEncoder instanceof BoundedPasswordEncoder boundedPasswordEncoder) {
+            return boundedPasswordEncoder.encodeAll(passwords);
+        }
+        return passwords.stream().map(passwordEncoder::encode).toList();
+    }
+
+    /**
+     * @return as mensagens de validação separadas por "; ", ou null se o usuário é válido
+     */
+    private String validate(UserRequestDTO user) {
+        Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void write(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write(NEW_LINE);
+    }
+
+    private static UserImportResultDTO created(UserImportReader.Row row, UserResponseDTO user) {
+        return new UserImportResultDTO(row.line(), user.email(), ImportStatus.CREATED, user.id(), null);
+    }
+
+    private static UserImportResultDTO result(UserImportReader.Row row, ImportStatus status, String message) {
+        String email = row.user() != null ? row.user().email() : null;
+        return new UserImportResultDTO(row.line(), email, status, null, message);
+    }
+}
@@ -0,0 +1,196 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.repositories.UserRepository;
+import br.com.juliocesarcoutinho.userservice.search.TrigramIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice de trigramas do nome e do email dos usuários, usado pela busca no lugar do LIKE no banco.
+ * <p>
+ * É montado em segundo plano quando a aplicação sobe, lendo os usuários em lotes pelo keyset; até
+ * terminar, {@link #isReady()} é false e a busca continua indo ao banco. Depois disso é mantido pelas
+ * alterações do {@link UserService} (após o commit) e pelos avisos de alteração das demais instâncias.
+ */
+@Component
+@Slf4j
+public class UserSearchIndex {
+
+    // Limite de ids por IN ao reler usuários do banco
+    private static final int REFRESH_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final TrigramIndex index;
+    private final boolean enabled;
+    private final int batchSize;
+
+    // Alterações recebidas durante a montagem valem mais que a leitura do lote, que pode estar desatualizada
+    private final Object buildLock = new Object();
+    private final Set<UUID> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private boolean building;
+    private volatile boolean ready;
+
+    public UserSearchIndex(UserRepository userRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.users.search.enabled:true}") boolean enabled,
+                           @Value("${app.users.search.min-similarity:0.5}") double minSimilarity,
+                           @Value("${app.users.search.max-results:1000}") int maxResults,
+                           @Value("${app.users.search.build-batch-size:5000}") int batchSize) {
+        this.userRepository = userRepository;
+        this.index = new TrigramIndex(minSimilarity, maxResults);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+
+        Gauge.builder("users.search.documents", index, TrigramIndex::size)
+                .description("Usuários no índice de busca")
+                .register(meterRegistry);
+        Gauge.builder("users.search.memory", index, TrigramIndex::estimatedBytes)
+                .description("Memória aproximada do índice de busca")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            Thread.ofPlatform().daemon().name("user-search-index").start(this::build);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public TrigramIndex.Hits search(String query, Pageable pageable) {
+        return index.search(query, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    /**
+     * Indexa o usuário depois que a transação atual for confirmada
+     */
+    public void indexAfterCommit(UUID id, String fullname, String email) {
+        afterCommit(() -> apply(id, fullname, email));
+    }
+
+    public void indexAllAfterCommit(List<UserResponseDTO> users) {
+        afterCommit(() -> users.forEach(user -> apply(user.id(), user.fullname(), user.email())));
+    }
+
+    public void removeAfterCommit(UUID id) {
+        afterCommit(() -> apply(id, null, null));
+    }
+
+    public void removeAllAfterCommit(Collection<UUID> ids) {
+        afterCommit(() -> ids.forEach(id -> apply(id, null, null)));
+    }
+
+    /**
+     * Relê os usuários do banco e atualiza o índice; usado quando uma instância avisa de uma alteração
+     */
+    public void refresh(Collection<UUID> ids) {
+        if (!enabled || ids == null || ids.isEmpty()) {
+            return;
+        }
+        List<UUID> pending = List.copyOf(ids);
+        for (int from = 0; from < pending.size(); from += REFRESH_CHUNK_SIZE) {
+            List<UUID> chunk = pending.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, pending.size()));
+            Map<UUID, UserResponseDTO> found = userRepository.findSummariesByIdIn(chunk).stream()
+                    .collect(Collectors.toMap(UserResponseDTO::id, Function.identity()));
+            for (UUID id : chunk) {
+                UserResponseDTO user = found.get(id);
+                if (user != null) {
+                    apply(id, user.fullname(), user.email());
+                } else {
+                    apply(id, null, null);
+                }
+            }
+        }
+    }
+
+    void build() {
+        long start = System.currentTimeMillis();
+        synchronized (buildLock) {
+            building = true;
+        }
+        try {
+            Pageable firstPage = PageRequest.of(0, batchSize);
+            Slice<UserResponseDTO> slice = userRepository.findFirstSlice(firstPage);
+            while (true) {
+                List<UserResponseDTO> users = slice.getContent();
+                synchronized (buildLock) {
+                    for (UserResponseDTO user : users) {
+                        if (!changedDuringBuild.contains(user.id())) {
+                            index.put(user.id(), user.fullname(), user.email());
+                        }
+                    }
+                }
+                if (!slice.hasNext() || users.isEmpty()) {
+                    break;
+                }
+                UserResponseDTO last = users.get(users.size() - 1);
+                slice = userRepository.findSliceAfter(last.createdAt(), last.id(), firstPage);
+            }
+            index.trimToSize();
+            ready = true;
+            log.info("Índice de busca de usuários montado: {} usuários em {} ms",
+                    index.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Falha ao montar o índice de busca de usuários; a busca continua pelo banco", e);
+        } finally {
+            synchronized (buildLock) {
+                building = false;
+                changedDuringBuild.clear();
+            }
+        }
+    }
+
+    private void apply(UUID id, String fullname, String email) {
+        synchronized (buildLock) {
+            if (building) {
+                changedDuringBuild.add(id);
+            }
+            if (fullname == null && email == null) {
+                index.remove(id);
+            } else {
+                index.put(id, fullname, email);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
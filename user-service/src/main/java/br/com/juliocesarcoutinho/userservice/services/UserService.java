@@ -1,20 +1,40 @@
 package br.com.juliocesarcoutinho.userservice.services;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.juliocesarcoutinho.userservice.dtos.CursorPageDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBatchGetRequestDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserBatchGetResponseDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserLookupResultDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserRequestDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
 import br.com.juliocesarcoutinho.userservice.dtos.UserUpdateDTO;
 import br.com.juliocesarcoutinho.userservice.entities.User;
+import br.com.juliocesarcoutinho.userservice.exceptions.InvalidCursorException;
 import br.com.juliocesarcoutinho.userservice.exceptions.ResourceAlreadyExistsException;
 import br.com.juliocesarcoutinho.userservice.exceptions.ResourceNotFoundException;
 import br.com.juliocesarcoutinho.userservice.repositories.UserRepository;
+import br.com.juliocesarcoutinho.userservice.repositories.UserRoleRepository;
+import br.com.juliocesarcoutinho.userservice.search.TrigramIndex;
+import br.com.juliocesarcoutinho.userservice.utils.CursorToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,8 +44,11 @@ import lombok.extern.slf4j.Slf4j;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserRoleRepository userRoleRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailIntegrationService emailIntegrationService;
+    private final UserCache userCache;
+    private final UserSearchIndex userSearchIndex;
 
     /**
      * Cria um novo usuário no sistema
@@ -43,8 +66,11 @@ public class UserService {
                 .build();
                 
         User savedUser = userRepository.save(user);
+        userSearchIndex.indexAfterCommit(savedUser.getId(), savedUser.getFullname(), savedUser.getEmail());
+        // Avisa as demais instâncias, que atualizam o próprio índice de busca
+        userCache.evictAfterCommit(savedUser.getId(), savedUser.getEmail());
 
-        // Enviar email de boas-vindas (apenas em produção)
+        // Email de boas-vindas vai para o outbox na mesma transação (apenas em produção)
         emailIntegrationService.sendWelcomeEmail(savedUser.getFullname(), savedUser.getEmail());
         
         // Aqui seria o ponto de integração com o auth-service quando ele estiver implementado
@@ -54,25 +80,58 @@ public class UserService {
     }
     
     /**
-     * Busca um usuário pelo ID
+     * Grava um lote de usuários já validados e com a senha criptografada, junto com os emails de
+     * boas-vindas. Com hibernate.jdbc.batch_size os inserts saem em lotes JDBC.
+     * Uma violação de email único desfaz o lote inteiro (DataIntegrityViolationException).
      */
-    @Transactional(readOnly = true)
-    public UserResponseDTO findUserById(UUID id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+    @Transactional
+    public List<UserResponseDTO> createUsers(List<User> users) {
+        List<User> savedUsers = userRepository.saveAll(users);
+        userRepository.flush();
+        emailIntegrationService.sendWelcomeEmails(savedUsers);
         
-        return toResponseDTO(user);
+        List<UserResponseDTO> created = savedUsers.stream().map(this::toResponseDTO).toList();
+        userSearchIndex.indexAllAfterCommit(created);
+        userCache.evictAllAfterCommit(created.stream().map(UserResponseDTO::id).toList(), List.of());
+        return created;
     }
     
     /**
-     * Busca um usuário pelo email
+     * Busca um usuário pelo ID, passando pelo cache.
+     * Sem @Transactional para que um acerto no cache não abra transação nem pegue conexão.
+     */
+    public UserResponseDTO findUserById(UUID id) {
+        return userCache.getById(id, key -> userRepository.findById(key)
+                .map(this::toResponseDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado")));
+    }
+    
+    /**
+     * Busca um usuário pelo email, passando pelo cache
      */
-    @Transactional(readOnly = true)
     public UserResponseDTO findUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        return userCache.getByEmail(email, key -> userRepository.findByEmail(key)
+                .map(this::toResponseDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado")));
+    }
+    
+    /**
+     * Busca vários usuários por id e por email de uma vez, passando pelo cache: os que faltam vêm em uma
+     * consulta IN para os ids e outra para os emails. Cada lista da resposta segue a ordem da requisição,
+     * com found=false para o que não existe.
+     */
+    public UserBatchGetResponseDTO findUsers(UserBatchGetRequestDTO request) {
+        List<UUID> ids = request.ids() == null ? List.of() : request.ids();
+        List<String> emails = request.emails() == null ? List.of() : request.emails();
         
-        return toResponseDTO(user);
+        Map<UUID, UserResponseDTO> usersById = ids.isEmpty() ? Map.of() : userCache.getAllById(ids, missing ->
+                userRepository.findSummariesByIdIn(List.copyOf(missing)).stream()
+                        .collect(Collectors.toMap(UserResponseDTO::id, Function.identity())));
+        Map<String, UserResponseDTO> usersByEmail = emails.isEmpty() ? Map.of() : userCache.getAllByEmail(emails, this::loadByEmails);
+        
+        return new UserBatchGetResponseDTO(
+                ids.stream().map(id -> lookupResult(id.toString(), usersById.get(id))).toList(),
+                emails.stream().map(email -> lookupResult(email, usersByEmail.get(email))).toList());
     }
     
     /**
@@ -80,8 +139,32 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Page<UserResponseDTO> findAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(this::toResponseDTO);
+        return userRepository.findAllSummaries(pageable);
+    }
+    
+    /**
+     * Lista os usuários por ordem de criação a partir de um cursor,
+     * sem OFFSET e sem a contagem total da paginação tradicional
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserResponseDTO> findUsersByCursor(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<UserResponseDTO> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = userRepository.findFirstSlice(pageable);
+        } else {
+            CursorToken token = CursorToken.decode(cursor);
+            slice = userRepository.findSliceAfter(token.timestamp(), parseId(token.id()), pageable);
+        }
+        
+        List<UserResponseDTO> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            UserResponseDTO last = content.get(content.size() - 1);
+            nextCursor = new CursorToken(last.createdAt(), last.id().toString()).encode();
+        }
+        
+        return new CursorPageDTO<>(content, content.size(), slice.hasNext(), nextCursor);
     }
     
     /**
@@ -98,6 +181,8 @@ public class UserService {
             throw new ResourceAlreadyExistsException("Este e-mail já está em uso por outro usuário");
         }
         
+        userCache.evictAfterCommit(user.getId(), user.getEmail(), userUpdateDTO.email());
+        
         // Atualiza os campos
         user.setFullname(userUpdateDTO.fullname());
         user.setEmail(userUpdateDTO.email());
@@ -108,6 +193,7 @@ public class UserService {
         }
         
         User updatedUser = userRepository.save(user);
+        userSearchIndex.indexAfterCommit(updatedUser.getId(), updatedUser.getFullname(), updatedUser.getEmail());
         
         log.info("Usuário atualizado com sucesso: {}", updatedUser.getId());
         
@@ -119,11 +205,12 @@ public class UserService {
      */
     @Transactional
     public void deleteUser(UUID id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Usuário não encontrado");
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
         
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        userCache.evictAfterCommit(id, user.getEmail());
+        userSearchIndex.removeAfterCommit(id);
         log.info("Usuário removido com sucesso: {}", id);
     }
     
@@ -136,6 +223,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
         
         user.setActive(false);
+        userCache.evictAfterCommit(id, user.getEmail());
         User updatedUser = userRepository.save(user);
         
         log.info("Usuário desativado com sucesso: {}", id);
@@ -152,6 +240,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
         
         user.setActive(true);
+        userCache.evictAfterCommit(id, user.getEmail());
         User updatedUser = userRepository.save(user);
         
         log.info("Usuário ativado com sucesso: {}", id);
@@ -160,12 +249,84 @@ public class UserService {
     }
     
     /**
-     * Busca usuários pelo nome
+     * Ativa ou desativa um bloco de uma operação em massa com um único UPDATE, sem carregar as entidades.
+     * Quem já está no estado pedido não é alterado.
+     *
+     * @return quantidade de usuários alterados
+     */
+    @Transactional
+    public int setActive(List<UserResponseDTO> users, boolean active) {
+        List<UUID> ids = users.stream().map(UserResponseDTO::id).toList();
+        int updated = userRepository.updateActiveByIdIn(ids, active, LocalDateTime.now());
+        userCache.evictAllAfterCommit(ids, users.stream().map(UserResponseDTO::email).toList());
+        return updated;
+    }
+    
+    /**
+     * Remove um bloco de uma operação em massa: os papéis e depois os usuários, um DELETE para cada
+     *
+     * @return quantidade de usuários removidos
+     */
+    @Transactional
+    public int deleteUsers(List<UserResponseDTO> users) {
+        List<UUID> ids = users.stream().map(UserResponseDTO::id).toList();
+        userRoleRepository.deleteAllByUserIdIn(ids);
+        int deleted = userRepository.deleteAllByIdIn(ids);
+        userCache.evictAllAfterCommit(ids, users.stream().map(UserResponseDTO::email).toList());
+        userSearchIndex.removeAllAfterCommit(ids);
+        return deleted;
+    }
+    
+    /**
+     * Busca usuários pelo nome ou email. Com o índice de busca pronto o resultado vem por relevância,
+     * tolerando erros de digitação; enquanto ele é montado, a busca usa o LIKE no banco.
      */
     @Transactional(readOnly = true)
     public Page<UserResponseDTO> findUsersByName(String name, Pageable pageable) {
-        return userRepository.findByFullnameContainingIgnoreCase(name, pageable)
-                .map(this::toResponseDTO);
+        if (!userSearchIndex.isReady()) {
+            return userRepository.findSummariesByName(name, pageable);
+        }
+
+        TrigramIndex.Hits hits = userSearchIndex.search(name, pageable);
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+        Map<UUID, UserResponseDTO> found = userRepository.findSummariesByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(UserResponseDTO::id, Function.identity()));
+        List<UserResponseDTO> content = hits.ids().stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+    
+    private UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor de paginação inválido");
+        }
+    }
+    
+    /**
+     * Carrega os emails pedidos de uma vez, guardando cada usuário sob o email como foi pedido
+     * (o banco pode comparar sem diferenciar maiúsculas)
+     */
+    private Map<String, UserResponseDTO> loadByEmails(Set<? extends String> emails) {
+        Map<String, UserResponseDTO> found = userRepository.findSummariesByEmailIn(List.copyOf(emails)).stream()
+                .collect(Collectors.toMap(user -> user.email().toLowerCase(Locale.ROOT), Function.identity(), (first, second) -> first));
+        Map<String, UserResponseDTO> users = new HashMap<>();
+        for (String email : emails) {
+            UserResponseDTO user = found.get(email.toLowerCase(Locale.ROOT));
+            if (user != null) {
+                users.put(email, user);
+            }
+        }
+        return users;
+    }
+    
+    private static UserLookupResultDTO lookupResult(String key, UserResponseDTO user) {
+        return new UserLookupResultDTO(key, user != null, user);
     }
     
     /**
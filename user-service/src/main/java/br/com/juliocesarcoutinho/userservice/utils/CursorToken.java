@@ -0,0 +1,32 @@
+package br.com.juliocesarcoutinho.userservice.utils;
+
+import br.com.juliocesarcoutinho.userservice.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posição de uma paginação por keyset: a data e o id do último registro devolvido.
+ * <p>
+ * O cliente recebe apenas o token em Base64 e o devolve sem interpretar o conteúdo.
+ */
+public record CursorToken(LocalDateTime timestamp, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new CursorToken(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Cursor de paginação inválido");
+        }
+    }
+}
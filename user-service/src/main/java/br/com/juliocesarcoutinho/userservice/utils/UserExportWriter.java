@@ -0,0 +1,136 @@
+package br.com.juliocesarcoutinho.userservice.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.exceptions.InvalidExportException;
+
+/**
+ * Escreve a exportação de usuários uma linha por vez, em NDJSON (um {@link UserResponseDTO} por linha)
+ * ou CSV com cabeçalho {@code id,fullname,email,active,createdAt}.
+ * <p>
+ * O texto é acumulado em um buffer próprio e só chega ao {@code output} no {@link #flush()} ou no
+ * {@link #close()}, que também fecha o {@code output}.
+ */
+public abstract class UserExportWriter implements Closeable {
+
+    /**
+     * Tipo de conteúdo do formato pedido ({@code ndjson} ou {@code csv})
+     */
+    public static MediaType mediaType(String format) {
+        return switch (format == null ? "" : format.trim().toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> MediaType.APPLICATION_NDJSON;
+            case "csv" -> UserImportReader.TEXT_CSV;
+            default -> throw new InvalidExportException("Formato não suportado: use ndjson ou csv");
+        };
+    }
+
+    public static UserExportWriter open(MediaType mediaType, OutputStream output, ObjectMapper objectMapper) throws IOException {
+        if (MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return new NdjsonWriter(output, objectMapper);
+        }
+        if (UserImportReader.TEXT_CSV.includes(mediaType)) {
+            return new CsvWriter(output);
+        }
+        throw new InvalidExportException("Formato não suportado: " + mediaType);
+    }
+
+    public abstract void write(UserResponseDTO user) throws IOException;
+
+    public abstract void flush() throws IOException;
+
+    private static final class NdjsonWriter extends UserExportWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(OutputStream output, ObjectMapper objectMapper) throws IOException {
+            // Sem o espaço que o Jackson coloca por padrão entre valores da raiz; o separador é a quebra de linha
+            this.generator = objectMapper.createGenerator(output).setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(UserResponseDTO user) throws IOException {
+            generator.writeObject(user);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvWriter extends UserExportWriter {
+
+        private final Writer writer;
+
+        private CsvWriter(OutputStream output) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 16 * 1024);
+            writer.write("id,fullname,email,active,createdAt\n");
+        }
+
+        @Override
+        public void write(UserResponseDTO user) throws IOException {
+            writer.write(user.id().toString());
+            writer.write(',');
+            writeField(user.fullname());
+            writer.write(',');
+            writeField(user.email());
+            writer.write(',');
+            writer.write(Boolean.toString(user.active()));
+            writer.write(',');
+            if (user.createdAt() != null) {
+                writer.write(user.createdAt().toString());
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+
+        /**
+         * Coloca entre aspas os campos com vírgula, aspas ou quebra de linha, duplicando as aspas internas
+         */
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
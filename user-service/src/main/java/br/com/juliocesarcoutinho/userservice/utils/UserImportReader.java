@@ -0,0 +1,227 @@
+package br.com.juliocesarcoutinho.userservice.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserRequestDTO;
+import br.com.juliocesarcoutinho.userservice.exceptions.InvalidImportException;
+
+/**
+ * Lê o arquivo de importação de usuários uma linha por vez, sem carregá-lo inteiro em memória.
+ * <p>
+ * Aceita NDJSON (um objeto {@code {"fullname", "email", "password"}} por linha) ou CSV com cabeçalho
+ * contendo as colunas {@code fullname}, {@code email} e {@code password} em qualquer ordem.
+ * Linhas maiores que {@code maxLineLength} são descartadas e devolvidas como erro.
+ */
+public abstract class UserImportReader {
+
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private final Reader reader;
+    private final int maxLineLength;
+    private final StringBuilder buffer = new StringBuilder();
+    private long lineNumber;
+    private boolean lineTooLong;
+    private boolean eof;
+
+    /**
+     * Linha lida: o usuário ou, se a linha não pôde ser interpretada, o motivo
+     */
+    public record Row(long line, UserRequestDTO user, String error) {}
+
+    protected UserImportReader(InputStream input, int maxLineLength) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.maxLineLength = maxLineLength;
+    }
+
+    public static UserImportReader open(String contentType, InputStream input, int maxLineLength, ObjectMapper objectMapper) throws IOException {
+        MediaType mediaType;
+        try {
+            mediaType = contentType == null ? null : MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            mediaType = null;
+        }
+        if (mediaType != null && MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return new NdjsonReader(input, maxLineLength, objectMapper);
+        }
+        if (mediaType != null && TEXT_CSV.includes(mediaType)) {
+            return new CsvReader(input, maxLineLength);
+        }
+        throw new InvalidImportException("Formato não suportado: use application/x-ndjson ou text/csv");
+    }
+
+    /**
+     * @return a próxima linha com conteúdo, ou null no fim do arquivo
+     */
+    public Row next() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (lineTooLong) {
+                return new Row(lineNumber, null, "Linha excede " + maxLineLength + " caracteres");
+            }
+            if (!line.isBlank()) {
+                return parse(lineNumber, line);
+            }
+        }
+        return null;
+    }
+
+    protected abstract Row parse(long line, String content);
+
+    /**
+     * Lê até o fim da linha guardando no máximo {@code maxLineLength} caracteres
+     */
+    protected String readLine() throws IOException {
+        if (eof) {
+            return null;
+        }
+        buffer.setLength(0);
+        lineTooLong = false;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (buffer.length() < maxLineLength) {
+                buffer.append((char) c);
+            } else {
+                lineTooLong = true;
+            }
+        }
+        if (c == -1) {
+            eof = true;
+            if (buffer.isEmpty() && !lineTooLong) {
+                return null;
+            }
+        }
+        lineNumber++;
+        int end = buffer.length();
+        if (end > 0 && buffer.charAt(end - 1) == '\r') {
+            end--;
+        }
+        // Remove o BOM que alguns editores colocam no início do arquivo
+        int start = lineNumber == 1 && end > 0 && buffer.charAt(0) == '\uFEFF' ? 1 : 0;
+        return buffer.substring(start, end);
+    }
+
+    private static final class NdjsonReader extends UserImportReader {
+
+        private final ObjectMapper objectMapper;
+
+        private NdjsonReader(InputStream input, int maxLineLength, ObjectMapper objectMapper) {
+            super(input, maxLineLength);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected Row parse(long line, String content) {
+            try {
+                UserRequestDTO user = objectMapper.readValue(content, UserRequestDTO.class);
+                return user != null
+                        ? new Row(line, user, null)
+                        : new Row(line, null, "JSON inválido: esperado um objeto");
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvReader extends UserImportReader {
+
+        private final int fullnameColumn;
+        private final int emailColumn;
+        private final int passwordColumn;
+
+        private CsvReader(InputStream input, int maxLineLength) throws IOException {
+            super(input, maxLineLength);
+            String header;
+            do {
+                header = readLine();
+            } while (header != null && header.isBlank());
+            if (header == null) {
+                throw new InvalidImportException("Arquivo CSV vazio");
+            }
+
+            List<String> names = split(header);
+            if (names == null) {
+                throw new InvalidImportException("Cabeçalho do CSV inválido");
+            }
+            List<String> columns = names.stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            this.fullnameColumn = column(columns, "fullname");
+            this.emailColumn = column(columns, "email");
+            this.passwordColumn = column(columns, "password");
+        }
+
+        @Override
+        protected Row parse(long line, String content) {
+            List<String> values = split(content);
+            if (values == null) {
+                return new Row(line, null, "Aspas não fechadas");
+            }
+            int columns = Math.max(fullnameColumn, Math.max(emailColumn, passwordColumn)) + 1;
+            if (values.size() < columns) {
+                return new Row(line, null, "Esperadas " + columns + " colunas, encontradas " + values.size());
+            }
+            return new Row(line, new UserRequestDTO(
+                    values.get(fullnameColumn).trim(),
+                    values.get(emailColumn).trim(),
+                    values.get(passwordColumn)), null);
+        }
+
+        private static int column(List<String> columns, String name) {
+            int index = columns.indexOf(name);
+            if (index < 0) {
+                throw new InvalidImportException("Coluna obrigatória ausente no cabeçalho do CSV: " + name);
+            }
+            return index;
+        }
+
+        /**
+         * Separa os campos por vírgula, aceitando campos entre aspas com {@code ""} como aspas literais.
+         * Campos com quebra de linha não são suportados.
+         *
+         * @return os campos, ou null se alguma aspa não foi fechada
+         */
+        private static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+}
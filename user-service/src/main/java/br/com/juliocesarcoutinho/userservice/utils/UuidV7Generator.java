@@ -0,0 +1,52 @@
+package br.com.juliocesarcoutinho.userservice.utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+/**
+ * Gera UUIDs versão 7 (RFC 9562): 48 bits de timestamp em milissegundos, 12 bits de contador
+ * e 62 bits aleatórios. Como o início do id cresce com o tempo, as inserções vão para o fim do
+ * índice clusterizado em vez de espalhar páginas, e continuam no mesmo BINARY(16) dos UUIDs v4 já gravados.
+ * <p>
+ * Na mesma JVM os ids são estritamente crescentes: dentro do mesmo milissegundo o contador avança
+ * e, se estourar, o timestamp é adiantado em 1 ms.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return generate();
+    }
+
+    public static UUID generate() {
+        long timestampAndCounter = nextTimestampAndCounter();
+        long timestamp = timestampAndCounter >>> 12;
+        long counter = timestampAndCounter & 0xFFFL;
+
+        long mostSigBits = (timestamp << 16) | VERSION_7 | counter;
+        long leastSigBits = (RANDOM.nextLong() & RANDOM_MASK) | VARIANT_RFC;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static long nextTimestampAndCounter() {
+        while (true) {
+            long now = System.currentTimeMillis() << 12;
+            long last = LAST_TIMESTAMP_AND_COUNTER.get();
+            long next = now > last ? now : last + 1;
+            if (LAST_TIMESTAMP_AND_COUNTER.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
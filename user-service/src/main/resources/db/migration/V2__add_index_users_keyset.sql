@@ -0,0 +1,2 @@
+-- Paginação por cursor em /api/users/cursor: ORDER BY created_at, id
+CREATE INDEX idx_users_created_at_id ON tb_users (created_at, id);
@@ -0,0 +1,12 @@
+CREATE TABLE tb_outbox (
+    id BINARY(16) NOT NULL,
+    exchange VARCHAR(255) NOT NULL,
+    routing_key VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_created_at ON tb_outbox (created_at);
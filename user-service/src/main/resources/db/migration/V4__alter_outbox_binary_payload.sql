@@ -0,0 +1,4 @@
+-- O outbox passa a guardar o corpo já convertido (CBOR ou JSON) junto com o content-type
+ALTER TABLE tb_outbox MODIFY payload LONGBLOB NOT NULL;
+ALTER TABLE tb_outbox ADD COLUMN content_type VARCHAR(100) NOT NULL DEFAULT 'application/json';
+ALTER TABLE tb_outbox ADD COLUMN content_encoding VARCHAR(50) NULL;
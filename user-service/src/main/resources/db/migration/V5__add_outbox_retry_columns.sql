@@ -0,0 +1,7 @@
+-- Backoff entre as tentativas do relay e estado DEAD para mensagens que atingiram o limite
+ALTER TABLE tb_outbox ADD COLUMN next_attempt_at DATETIME(6) NULL;
+UPDATE tb_outbox SET next_attempt_at = created_at;
+ALTER TABLE tb_outbox MODIFY next_attempt_at DATETIME(6) NOT NULL;
+ALTER TABLE tb_outbox ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'PENDING';
+
+CREATE INDEX idx_outbox_status_next_attempt_at ON tb_outbox (status, next_attempt_at);
@@ -0,0 +1,164 @@
+package br.com.juliocesarcoutinho.userservice.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.entities.Role;
+import br.com.juliocesarcoutinho.userservice.entities.User;
+import br.com.juliocesarcoutinho.userservice.repositories.specifications.UserSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Conta os statements SQL de cada consulta para impedir que a listagem volte a carregar os papéis (N+1)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.show-sql=false"
+})
+class UserRepositoryTest {
+
+    private static final int USERS = 12;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role admin = entityManager.persist(Role.builder().authority("ROLE_ADMIN").build());
+        Role user = entityManager.persist(Role.builder().authority("ROLE_USER").build());
+
+        for (int i = 0; i < USERS; i++) {
+            User entity = User.builder()
+                    .fullname("Usuario " + i)
+                    .email("usuario" + i + "@email.com")
+                    .password("{noop}123456")
+                    .build();
+            entity.addRole(user);
+            if (i % 3 == 0) {
+                entity.addRole(admin);
+            }
+            entityManager.persist(entity);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllSummariesRunsPageAndCountOnly() {
+        Page<UserResponseDTO> page = userRepository.findAllSummaries(PageRequest.of(0, 5, Sort.by("fullname")));
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(USERS);
+        assertThat(page.getContent().get(0).fullname()).isEqualTo("Usuario 0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummariesByNameRunsPageAndCountOnly() {
+        Page<UserResponseDTO> page = userRepository.findSummariesByName("USUARIO 1", PageRequest.of(0, 2, Sort.by("fullname")));
+
+        // "Usuario 1", "Usuario 10" e "Usuario 11"
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findByIdDoesNotLoadRoles() {
+        UUID id = userRepository.findByEmail("usuario0@email.com").orElseThrow().getId();
+        entityManager.clear();
+        statistics.clear();
+
+        userRepository.findById(id).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void toStringAndHashCodeDoNotLoadRoles() {
+        User user = userRepository.findByEmail("usuario0@email.com").orElseThrow();
+        statistics.clear();
+
+        assertThat(user.toString()).contains("usuario0@email.com").doesNotContain("userRoles");
+        assertThat(user.hashCode()).isEqualTo(user.hashCode());
+        assertThat(user).isEqualTo(user);
+
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void rolesOfManyUsersLoadInBatches() {
+        List<User> users = userRepository.findAll();
+        users.forEach(user -> assertThat(user.getRoles()).isNotEmpty());
+
+        // Um select para os usuários e um único lote para as coleções de papéis
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(USERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findChunkWalksTheKeysetInCreationOrder() {
+        Specification<User> filter = UserSpecifications.withFilters(true, null, null);
+
+        List<UserResponseDTO> all = new ArrayList<>();
+        List<UserResponseDTO> chunk = userRepository.findChunk(filter, 5);
+        while (!chunk.isEmpty()) {
+            all.addAll(chunk);
+            UserResponseDTO last = chunk.get(chunk.size() - 1);
+            chunk = userRepository.findChunk(filter.and(UserSpecifications.after(last.createdAt(), last.id())), 5);
+        }
+
+        assertThat(all).hasSize(USERS);
+        assertThat(all).extracting(UserResponseDTO::email).doesNotHaveDuplicates();
+        assertThat(all).isSortedAccordingTo(Comparator.comparing(UserResponseDTO::createdAt)
+                .thenComparing(UserResponseDTO::id));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findChunkAppliesOnlyTheSuppliedFilters() {
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+
+        assertThat(userRepository.findChunk(UserSpecifications.withFilters(null, null, null), 100)).hasSize(USERS);
+        assertThat(userRepository.findChunk(UserSpecifications.withFilters(false, null, null), 100)).isEmpty();
+        assertThat(userRepository.findChunk(UserSpecifications.withFilters(null, tomorrow, null), 100)).isEmpty();
+        assertThat(userRepository.findChunk(UserSpecifications.withFilters(null, null, tomorrow), 100)).hasSize(USERS);
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.juliocesarcoutinho.userservice.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PostingListTest {
+
+    @Test
+    void varintRoundTripAcrossByteBoundaries() {
+        int[] docs = {0, 1, 127, 128, 255, 16_383, 16_384, 2_097_151, 2_097_152, 300_000_000, Integer.MAX_VALUE};
+        PostingList list = new PostingList();
+        for (int doc : docs) {
+            list.add(doc);
+        }
+
+        assertThat(read(list)).containsExactly(box(docs));
+        assertThat(list.size()).isEqualTo(docs.length);
+    }
+
+    @Test
+    void closeDocumentsTakeOneBytePerEntry() {
+        PostingList list = new PostingList();
+        for (int doc = 0; doc < 100; doc++) {
+            list.add(doc * 3);
+        }
+
+        assertThat(list.sizeInBytes()).isEqualTo(100);
+
+        // Diferença de 128 já precisa de dois bytes
+        list.add(297 + 128);
+        assertThat(list.sizeInBytes()).isEqualTo(102);
+    }
+
+    @Test
+    void ignoresDocumentsOutOfOrder() {
+        PostingList list = new PostingList();
+        list.add(5);
+        list.add(5);
+        list.add(3);
+        list.add(9);
+
+        assertThat(read(list)).containsExactly(5, 9);
+        assertThat(list.size()).isEqualTo(2);
+    }
+
+    @Test
+    void trimKeepsContents() {
+        PostingList list = new PostingList();
+        for (int doc = 0; doc < 1000; doc += 7) {
+            list.add(doc);
+        }
+        List<Integer> before = read(list);
+
+        list.trim();
+
+        assertThat(read(list)).isEqualTo(before);
+    }
+
+    @Test
+    void cursorEndsWithMinusOne() {
+        PostingList.Cursor cursor = new PostingList().cursor();
+
+        assertThat(cursor.next()).isEqualTo(-1);
+        assertThat(cursor.doc()).isEqualTo(-1);
+    }
+
+    private static List<Integer> read(PostingList list) {
+        List<Integer> docs = new ArrayList<>();
+        PostingList.Cursor cursor = list.cursor();
+        for (int doc = cursor.next(); doc >= 0; doc = cursor.next()) {
+            assertThat(cursor.doc()).isEqualTo(doc);
+            docs.add(doc);
+        }
+        return docs;
+    }
+
+    private static Integer[] box(int[] values) {
+        Integer[] boxed = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.juliocesarcoutinho.userservice.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex(0.3, 10_000);
+
+    @Test
+    void matchesPrefixOfLastQueryWord() {
+        UUID julio = UUID.randomUUID();
+        index.put(julio, "Júlio César Coutinho", "julio@email.com");
+        index.put(UUID.randomUUID(), "Maria Souza", "maria@email.com");
+
+        assertThat(index.search("juli", 0, 10).ids()).containsExactly(julio);
+        assertThat(index.search("julio ces", 0, 10).ids()).containsExactly(julio);
+        assertThat(index.search("xyz", 0, 10)).isEqualTo(TrigramIndex.Hits.EMPTY);
+    }
+
+    @Test
+    void ranksBySharedTrigramsThenShorterText() {
+        UUID longer = UUID.randomUUID();
+        UUID exact = UUID.randomUUID();
+        UUID partial = UUID.randomUUID();
+        UUID unrelated = UUID.randomUUID();
+        index.put(longer, "Ana Souza Lima");
+        index.put(exact, "Ana Souza");
+        index.put(partial, "Souza");
+        index.put(unrelated, "Mariana");
+
+        assertThat(index.search("ana souza", 0, 10).ids()).containsExactly(exact, longer, partial);
+    }
+
+    @Test
+    void equalMatchesKeepInsertionOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.put(first, "Ana");
+        index.put(second, "Ana");
+
+        assertThat(index.search("ana", 0, 10).ids()).containsExactly(first, second);
+    }
+
+    @Test
+    void totalCountsAllMatchesWhilePagesSliceTheRanking() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            index.put(id, "Usuario " + i);
+        }
+
+        TrigramIndex.Hits all = index.search("usuario", 0, 25);
+        TrigramIndex.Hits first = index.search("usuario", 0, 10);
+        TrigramIndex.Hits second = index.search("usuario", 10, 10);
+        TrigramIndex.Hits last = index.search("usuario", 20, 10);
+
+        assertThat(all.total()).isEqualTo(25);
+        assertThat(first.total()).isEqualTo(25);
+        assertThat(last.total()).isEqualTo(25);
+        assertThat(all.ids()).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(first.ids()).hasSize(10).isEqualTo(all.ids().subList(0, 10));
+        assertThat(second.ids()).hasSize(10).isEqualTo(all.ids().subList(10, 20));
+        assertThat(last.ids()).hasSize(5).isEqualTo(all.ids().subList(20, 25));
+        assertThat(index.search("usuario", 30, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void totalAndPagingAreCappedAtMaxResults() {
+        TrigramIndex capped = new TrigramIndex(0.3, 20);
+        for (int i = 0; i < 25; i++) {
+            capped.put(UUID.randomUUID(), "Usuario " + i);
+        }
+
+        assertThat(capped.search("usuario", 0, 100).ids()).hasSize(20);
+        assertThat(capped.search("usuario", 0, 100).total()).isEqualTo(20);
+        assertThat(capped.search("usuario", 15, 10).ids()).hasSize(5);
+        assertThat(capped.search("usuario", 20, 10)).isEqualTo(TrigramIndex.Hits.EMPTY);
+    }
+
+    @Test
+    void putRemoveAndPutAgain() {
+        UUID id = UUID.randomUUID();
+        index.put(id, "Carlos");
+
+        assertThat(index.remove(id)).isTrue();
+        assertThat(index.remove(id)).isFalse();
+        assertThat(index.size()).isZero();
+        assertThat(index.search("carlos", 0, 10).ids()).isEmpty();
+
+        index.put(id, "Carlos");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("carlos", 0, 10).ids()).containsExactly(id);
+    }
+
+    @Test
+    void putWithNewTextReplacesTheOldOne() {
+        UUID id = UUID.randomUUID();
+        index.put(id, "Carlos");
+        index.put(id, "Carlos");
+        index.put(id, "Beatriz");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("carlos", 0, 10).ids()).isEmpty();
+        assertThat(index.search("beatriz", 0, 10).ids()).containsExactly(id);
+    }
+
+    @Test
+    void keepsDocumentsAcrossRehashAndCompaction() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            index.put(id, "Pessoa", "p" + i + "@email.com");
+        }
+        assertThat(index.size()).isEqualTo(3000);
+
+        // Remover 2000 passa do limite de compactação (removidos >= vivos)
+        Set<UUID> live = new HashSet<>(ids);
+        for (UUID id : ids.subList(0, 2000)) {
+            assertThat(index.remove(id)).isTrue();
+            live.remove(id);
+        }
+        for (UUID id : ids.subList(0, 500)) {
+            index.put(id, "Pessoa");
+            live.add(id);
+        }
+        for (UUID id : ids.subList(2000, 2200)) {
+            index.put(id, "Outro Nome");
+            live.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(live.size() + 200);
+        TrigramIndex.Hits pessoas = index.search("pessoa", 0, 10_000);
+        assertThat(pessoas.total()).isEqualTo(live.size());
+        assertThat(pessoas.ids()).containsExactlyInAnyOrderElementsOf(live);
+        assertThat(index.search("outro nome", 0, 10_000).ids()).containsExactlyInAnyOrderElementsOf(ids.subList(2000, 2200));
+        for (UUID id : ids.subList(500, 2000)) {
+            assertThat(index.remove(id)).isFalse();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.juliocesarcoutinho.userservice.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramsTest {
+
+    @Test
+    void documentWordsArePaddedLikePgTrgm() {
+        assertThat(Trigrams.ofDocument("Júlio")).containsExactly(trigrams("  j", " ju", "jul", "uli", "lio", "io "));
+    }
+
+    @Test
+    void normalizesCaseAndAccents() {
+        assertThat(Trigrams.normalize("JÚLIO César")).isEqualTo("julio cesar");
+        assertThat(Trigrams.ofDocument("JÚLIO")).containsExactly(Trigrams.ofDocument("julio"));
+    }
+
+    @Test
+    void resultIsSortedAndDistinctAcrossFields() {
+        long[] trigrams = Trigrams.ofDocument("ana ana", "Ana", "ana@email.com");
+
+        assertThat(trigrams).isSorted();
+        assertThat(Arrays.stream(trigrams).distinct().count()).isEqualTo(trigrams.length);
+        assertThat(Trigrams.ofDocument("ana ana")).containsExactly(Trigrams.ofDocument("ana"));
+    }
+
+    @Test
+    void lastQueryWordIsAPrefix() {
+        assertThat(Trigrams.ofQuery("jul")).containsExactly(trigrams("  j", " ju", "jul"));
+        assertThat(Trigrams.ofQuery("julio ce"))
+                .contains(trigrams("io ", "  c", " ce"))
+                .doesNotContain(trigram("ce "));
+        // Separadores no fim não completam a última palavra
+        assertThat(Trigrams.ofQuery("jul  ")).containsExactly(Trigrams.ofQuery("jul"));
+    }
+
+    @Test
+    void emptyTextHasNoTrigrams() {
+        assertThat(Trigrams.ofQuery("")).isEmpty();
+        assertThat(Trigrams.ofQuery(" -- ")).isEmpty();
+        assertThat(Trigrams.ofDocument((String) null)).isEmpty();
+    }
+
+    private static long[] trigrams(String... values) {
+        return Arrays.stream(values).mapToLong(TrigramsTest::trigram).sorted().toArray();
+    }
+
+    private static long trigram(String value) {
+        return ((long) value.charAt(0) << 32) | ((long) value.charAt(1) << 16) | value.charAt(2);
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.juliocesarcoutinho.userservice.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import br.com.juliocesarcoutinho.userservice.entities.Role;
+import br.com.juliocesarcoutinho.userservice.entities.User;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(UserDetailsServiceImpl.class)
+class UserDetailsServiceImplTest {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role admin = entityManager.persist(Role.builder().authority("ROLE_ADMIN").build());
+        Role user = entityManager.persist(Role.builder().authority("ROLE_USER").build());
+
+        User withRoles = User.builder()
+                .fullname("Admin")
+                .email("admin@email.com")
+                .password("{noop}admin123")
+                .build();
+        withRoles.addRole(admin);
+        withRoles.addRole(user);
+        entityManager.persist(withRoles);
+
+        entityManager.persist(User.builder()
+                .fullname("Sem Papel")
+                .email("semrole@email.com")
+                .password("{noop}123456")
+                .build());
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loadUserByUsernameUsesSingleQuery() {
+        UserDetails details = userDetailsService.loadUserByUsername("admin@email.com");
+
+        assertThat(details.getUsername()).isEqualTo("admin@email.com");
+        assertThat(details.getPassword()).isEqualTo("{noop}admin123");
+        assertThat(details.isEnabled()).isTrue();
+        assertThat(details.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void loadUserByUsernameWithoutRoles() {
+        UserDetails details = userDetailsService.loadUserByUsername("semrole@email.com");
+
+        assertThat(details.getAuthorities()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadUserByUsernameNotFound() {
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("nobody@email.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
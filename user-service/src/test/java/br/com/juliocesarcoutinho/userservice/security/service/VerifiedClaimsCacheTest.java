@@ -0,0 +1,86 @@
+package br.com.juliocesarcoutinho.userservice.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+class VerifiedClaimsCacheTest {
+
+    private static final long NOW_MS = 1_000_000L;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void expiresAtTheConfiguredTtlWhenTheTokenLivesLonger() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, 1_000, nanos::get);
+        cache.put("token", claimsExpiringIn(60_000), NOW_MS);
+
+        advanceMs(999);
+        assertThat(cache.get("token")).isNotNull();
+
+        advanceMs(1);
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    void expiresWithTheTokenWhenItExpiresBeforeTheTtl() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, 60_000, nanos::get);
+        cache.put("token", claimsExpiringIn(2_000), NOW_MS);
+
+        advanceMs(1_999);
+        assertThat(cache.get("token")).isNotNull();
+
+        advanceMs(1);
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    void readsDoNotExtendTheExpiry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, 1_000, nanos::get);
+        cache.put("token", claimsExpiringIn(60_000), NOW_MS);
+
+        advanceMs(600);
+        assertThat(cache.get("token")).isNotNull();
+        advanceMs(400);
+
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    void doesNotStoreExpiredTokens() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, 1_000, nanos::get);
+
+        cache.put("token", claimsExpiringIn(0), NOW_MS);
+
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    void keepsStoringNewTokensWhenFull() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2, 60_000, nanos::get);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("token-" + i, claimsExpiringIn(60_000), NOW_MS);
+        }
+
+        assertThat(cache.get("token-9")).isNotNull();
+    }
+
+    /**
+     * O JWT guarda a expiração em segundos, por isso os prazos dos testes são múltiplos de 1000 ms
+     */
+    private Claims claimsExpiringIn(long ms) {
+        return Jwts.claims().subject("ana@email.com").expiration(new Date(NOW_MS + ms)).build();
+    }
+
+    private void advanceMs(long ms) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+}
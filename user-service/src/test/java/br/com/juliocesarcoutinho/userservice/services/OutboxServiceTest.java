@@ -0,0 +1,102 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import br.com.juliocesarcoutinho.userservice.entities.OutboxMessage;
+import br.com.juliocesarcoutinho.userservice.enums.OutboxStatus;
+import br.com.juliocesarcoutinho.userservice.repositories.OutboxMessageRepository;
+
+/**
+ * Mensagens recusadas pelo broker são adiadas com backoff e, no limite de tentativas, ficam DEAD
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+class OutboxServiceTest {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private RabbitTemplate rabbitTemplate;
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        doThrow(new AmqpException("Mensagem recusada")).when(rabbitTemplate)
+                .send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        outboxService = new OutboxService(outboxRepository, rabbitTemplate, 100, 100, MAX_ATTEMPTS, 60_000, 60_000);
+    }
+
+    @Test
+    void onlyClaimsPendingMessagesWhoseNextAttemptIsDue() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxMessage due = persist("due", now.minusSeconds(1), OutboxStatus.PENDING);
+        persist("later", now.plusMinutes(5), OutboxStatus.PENDING);
+        persist("dead", now.minusMinutes(5), OutboxStatus.DEAD);
+
+        outboxService.relayBatch();
+
+        verify(rabbitTemplate).send(anyString(), eq("due"), any(Message.class), any(CorrelationData.class));
+        verify(rabbitTemplate, never()).send(anyString(), eq("later"), any(Message.class), any(CorrelationData.class));
+        verify(rabbitTemplate, never()).send(anyString(), eq("dead"), any(Message.class), any(CorrelationData.class));
+        assertThat(due.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void failedMessageIsDelayedThenParkedAfterMaxAttempts() {
+        OutboxMessage message = persist("poison", LocalDateTime.now().minusSeconds(1), OutboxStatus.PENDING);
+
+        outboxService.relayBatch();
+
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        // Metade fixa do backoff de 60 s
+        assertThat(message.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(29));
+
+        // Adiada: a próxima rodada não pega a mensagem
+        outboxService.relayBatch();
+        assertThat(message.getAttempts()).isEqualTo(1);
+
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxService.relayBatch();
+
+        assertThat(message.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(message.getLastError()).isEqualTo("Mensagem recusada");
+    }
+
+    private OutboxMessage persist(String routingKey, LocalDateTime nextAttemptAt, OutboxStatus status) {
+        return entityManager.persist(OutboxMessage.builder()
+                .exchange("manga-system-exchange")
+                .routingKey(routingKey)
+                .payload(new byte[] {1})
+                .contentType("application/json")
+                .createdAt(nextAttemptAt)
+                .nextAttemptAt(nextAttemptAt)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserCacheEvictionDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * O cache por email não diferencia maiúsculas: o filtro JWT depende disso para enxergar a desativação
+ */
+class UserCacheTest {
+
+    private static final UserResponseDTO ANA = new UserResponseDTO(UUID.randomUUID(), "Ana", "ana@email.com", true,
+            LocalDateTime.now());
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(null, new SimpleMeterRegistry(), 100, 60_000);
+    }
+
+    @Test
+    void emailLookupsIgnoreCase() {
+        assertThat(userCache.getByEmail("Ana@Email.com", this::load)).isEqualTo(ANA);
+        assertThat(userCache.getByEmail("ana@email.com", this::load)).isEqualTo(ANA);
+        assertThat(userCache.getByEmail("ANA@EMAIL.COM", this::load)).isEqualTo(ANA);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loaderReceivesEmailAsRequested() {
+        userCache.getByEmail("Ana@Email.com", email -> {
+            assertThat(email).isEqualTo("Ana@Email.com");
+            return load(email);
+        });
+    }
+
+    @Test
+    void evictionIgnoresCase() {
+        userCache.getByEmail("ana@email.com", this::load);
+
+        userCache.evictLocal(new UserCacheEvictionDTO(List.of(ANA.id()), List.of("Ana@EMAIL.com")));
+        userCache.getByEmail("ana@email.com", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void batchLookupIsKeyedByRequestedEmailAndSharesEntries() {
+        userCache.getByEmail("ana@email.com", this::load);
+
+        Map<String, UserResponseDTO> users = userCache.getAllByEmail(List.of("ANA@email.com", "bia@email.com"), missing -> {
+            assertThat(missing).isEqualTo(Set.of("bia@email.com"));
+            loads.incrementAndGet();
+            return Map.of();
+        });
+
+        assertThat(users).containsOnlyKeys("ANA@email.com").containsEntry("ANA@email.com", ANA);
+        assertThat(loads).hasValue(2);
+    }
+
+    private UserResponseDTO load(String email) {
+        loads.incrementAndGet();
+        return ANA;
+    }
+}
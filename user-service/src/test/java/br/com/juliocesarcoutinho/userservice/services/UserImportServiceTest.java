@@ -0,0 +1,147 @@
+package br.com.juliocesarcoutinho.userservice.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserImportResultDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserImportSummaryDTO;
+import br.com.juliocesarcoutinho.userservice.dtos.UserResponseDTO;
+import br.com.juliocesarcoutinho.userservice.entities.User;
+import br.com.juliocesarcoutinho.userservice.enums.ImportStatus;
+import br.com.juliocesarcoutinho.userservice.repositories.UserRepository;
+import br.com.juliocesarcoutinho.userservice.utils.UserImportReader;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+class UserImportServiceTest {
+
+    private static final String CSV = """
+            fullname,email,password
+            Ana,ana@email.com,123456
+            Ana de novo,ANA@email.com,123456
+            Bia,bia@email.com,123456
+            Carla,nao-e-email,123
+            Duda,duda@email.com,123456
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private UserService userService;
+    private UserRepository userRepository;
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        userRepository = mock(UserRepository.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "{hash}" + invocation.getArgument(0));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("BIA@email.com"));
+        importService = new UserImportService(userService, userRepository, passwordEncoder,
+                validatorFactory.getValidator(), objectMapper, 100, 8192);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void reportsDuplicatesAndInvalidRowsAndCreatesTheRestInOneBatch() throws IOException {
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        UserImportSummaryDTO summary = importService.importUsers(open(CSV), output);
+
+        List<UserImportResultDTO> results = results(output);
+        assertThat(results).extracting(UserImportResultDTO::line, UserImportResultDTO::status, UserImportResultDTO::message)
+                .containsExactly(
+                        tuple(2L, ImportStatus.CREATED, null),
+                        tuple(3L, ImportStatus.DUPLICATE, "E-mail repetido no arquivo"),
+                        tuple(4L, ImportStatus.DUPLICATE, "Usuário com este e-mail já existe"),
+                        tuple(5L, ImportStatus.INVALID,
+                                "A senha deve ter pelo menos 6 caracteres; Formato de e-mail inválido"),
+                        tuple(6L, ImportStatus.CREATED, null));
+        assertThat(summary.total()).isEqualTo(5);
+        assertThat(summary.created()).isEqualTo(2);
+        assertThat(summary.rejected()).isEqualTo(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        verify(userService).createUsers(users.capture());
+        assertThat(users.getValue()).extracting(User::getEmail, User::getPassword)
+                .containsExactly(
+                        tuple("ana@email.com", "{hash}123456"),
+                        tuple("duda@email.com", "{hash}123456"));
+    }
+
+    @Test
+    void batchRejectedByTheDatabaseIsRetriedRowByRow() throws IOException {
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            // Duda foi cadastrada por outra requisição depois da consulta de emails existentes
+            if (users.stream().anyMatch(user -> user.getEmail().equals("duda@email.com"))) {
+                throw new DataIntegrityViolationException("Duplicate entry 'duda@email.com'");
+            }
+            return saved(users);
+        });
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        UserImportSummaryDTO summary = importService.importUsers(open(CSV), output);
+
+        List<UserImportResultDTO> results = results(output);
+        assertThat(results.get(0).status()).isEqualTo(ImportStatus.CREATED);
+        assertThat(results.get(0).id()).isNotNull();
+        assertThat(results.get(4).status()).isEqualTo(ImportStatus.DUPLICATE);
+        assertThat(results.get(4).message()).isEqualTo("Usuário com este e-mail já existe");
+        assertThat(summary.created()).isEqualTo(1);
+        // Lote inteiro e depois uma chamada por linha aceita
+        verify(userService, times(3)).createUsers(anyList());
+    }
+
+    private UserImportReader open(String csv) throws IOException {
+        return importService.open("text/csv", new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<UserImportResultDTO> results(ByteArrayOutputStream output) throws IOException {
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        // A última linha é o resumo
+        List<UserImportResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < lines.length - 1; i++) {
+            results.add(objectMapper.readValue(lines[i], UserImportResultDTO.class));
+        }
+        return results;
+    }
+
+    private static List<UserResponseDTO> saved(List<User> users) {
+        return users.stream()
+                .map(user -> new UserResponseDTO(UUID.randomUUID(), user.getFullname(), user.getEmail(), true,
+                        LocalDateTime.now()))
+                .toList();
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.juliocesarcoutinho.userservice.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.juliocesarcoutinho.userservice.dtos.UserRequestDTO;
+import br.com.juliocesarcoutinho.userservice.exceptions.InvalidImportException;
+
+class UserImportReaderTest {
+
+    private static final int MAX_LINE_LENGTH = 64;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csvSplitsQuotedFieldsAndEscapedQuotes() throws IOException {
+        List<UserImportReader.Row> rows = readCsv("""
+                fullname,email,password
+                "Silva, Ana",ana@email.com,"se""nha,1"
+                Bia,bia@email.com,""
+                """);
+
+        assertThat(rows).extracting(UserImportReader.Row::user).containsExactly(
+                new UserRequestDTO("Silva, Ana", "ana@email.com", "se\"nha,1"),
+                new UserRequestDTO("Bia", "bia@email.com", ""));
+    }
+
+    @Test
+    void csvUnclosedQuoteIsAnErrorForThatLineOnly() throws IOException {
+        List<UserImportReader.Row> rows = readCsv("""
+                fullname,email,password
+                "Ana,ana@email.com,123456
+                Bia,bia@email.com,123456
+                """);
+
+        assertThat(rows.get(0)).isEqualTo(new UserImportReader.Row(2, null, "Aspas não fechadas"));
+        assertThat(rows.get(1).user()).isEqualTo(new UserRequestDTO("Bia", "bia@email.com", "123456"));
+    }
+
+    @Test
+    void csvLineWithMissingColumnsIsAnError() throws IOException {
+        List<UserImportReader.Row> rows = readCsv("fullname,email,password\nAna,ana@email.com\n");
+
+        assertThat(rows).containsExactly(new UserImportReader.Row(2, null, "Esperadas 3 colunas, encontradas 2"));
+    }
+
+    @Test
+    void csvHeaderMapsColumnsByNameInAnyOrder() throws IOException {
+        List<UserImportReader.Row> rows = readCsv("""
+                 Password ,EMAIL,ignored,FullName
+                123456, ana@email.com ,x, Ana Silva\s
+                """);
+
+        assertThat(rows).extracting(UserImportReader.Row::user)
+                .containsExactly(new UserRequestDTO("Ana Silva", "ana@email.com", "123456"));
+    }
+
+    @Test
+    void csvHeaderMustHaveAllColumns() {
+        assertThatThrownBy(() -> readCsv("fullname,email\nAna,ana@email.com\n"))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("password");
+        assertThatThrownBy(() -> readCsv("\n\n"))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessage("Arquivo CSV vazio");
+        assertThatThrownBy(() -> readCsv("\"fullname,email,password\n"))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessage("Cabeçalho do CSV inválido");
+    }
+
+    @Test
+    void stripsBomAndCarriageReturns() throws IOException {
+        List<UserImportReader.Row> rows = readCsv("\uFEFFfullname,email,password\r\nAna,ana@email.com,123456\r\n");
+
+        assertThat(rows).extracting(UserImportReader.Row::user)
+                .containsExactly(new UserRequestDTO("Ana", "ana@email.com", "123456"));
+    }
+
+    @Test
+    void overLongLineIsReportedAndReadingContinues() throws IOException {
+        String longName = "a".repeat(MAX_LINE_LENGTH);
+        List<UserImportReader.Row> rows = readCsv("fullname,email,password\n"
+                + longName + ",ana@email.com,123456\n"
+                + "Bia,bia@email.com,123456");
+
+        assertThat(rows.get(0)).isEqualTo(new UserImportReader.Row(2, null, "Linha excede " + MAX_LINE_LENGTH + " caracteres"));
+        assertThat(rows.get(1)).isEqualTo(new UserImportReader.Row(3, new UserRequestDTO("Bia", "bia@email.com", "123456"), null));
+    }
+
+    @Test
+    void blankLinesAreSkippedButCounted() throws IOException {
+        List<UserImportReader.Row> rows = readCsv("fullname,email,password\n\n  \r\nAna,ana@email.com,123456\n\n");
+
+        assertThat(rows).extracting(UserImportReader.Row::line).containsExactly(4L);
+    }
+
+    @Test
+    void ndjsonRowsAndErrors() throws IOException {
+        List<UserImportReader.Row> rows = read("application/x-ndjson", """
+                {"fullname":"Ana","email":"ana@email.com","password":"123456"}
+                {"fullname":
+                null
+                """);
+
+        assertThat(rows.get(0).user()).isEqualTo(new UserRequestDTO("Ana", "ana@email.com", "123456"));
+        assertThat(rows.get(1).line()).isEqualTo(2);
+        assertThat(rows.get(1).error()).startsWith("JSON inválido");
+        assertThat(rows.get(2)).isEqualTo(new UserImportReader.Row(3, null, "JSON inválido: esperado um objeto"));
+    }
+
+    @Test
+    void rejectsUnsupportedContentType() {
+        assertThatThrownBy(() -> read("application/json", "{}"))
+                .isInstanceOf(InvalidImportException.class);
+        assertThatThrownBy(() -> read("não é um tipo", "{}"))
+                .isInstanceOf(InvalidImportException.class);
+    }
+
+    private List<UserImportReader.Row> readCsv(String content) throws IOException {
+        return read("text/csv; charset=UTF-8", content);
+    }
+
+    private List<UserImportReader.Row> read(String contentType, String content) throws IOException {
+        UserImportReader reader = UserImportReader.open(contentType,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), MAX_LINE_LENGTH, objectMapper);
+        List<UserImportReader.Row> rows = new ArrayList<>();
+        for (UserImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}